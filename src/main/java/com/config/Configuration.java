@@ -80,6 +80,15 @@ public interface Configuration extends Config {
 	@Key("headless")
 	Boolean headless();
 
+	@Key("browser.reuse")
+	boolean browserReuse();
+
+	@Key("context.pool.size")
+	int contextPoolSize();
+
+	@Key("browser.lazy")
+	boolean browserLazy();
+
 	@Key("url.api")
 	String apiUrl();
 
@@ -113,14 +122,41 @@ public interface Configuration extends Config {
 	@Key("grid.port")
 	String gridPort();
 
+	@Key("grid.strategy")
+	String gridStrategy();
+
 	@Key("faker.locale")
 	String faker();
 
 	@Key("auto.login")
 	boolean autoLogin();
 
+	@Key("session.ttl.minutes")
+	int sessionTtlMinutes();
+
+	@Key("session.check.url")
+	String sessionCheckUrl();
+
+	@Key("session.logged.in.locator")
+	String sessionLoggedInLocator();
+
 	@Key("enable.tracing")
 	boolean enableTracing();
+
+	@Key("video.mode")
+	String videoMode();
+
+	@Key("run.attempt")
+	int runAttempt();
+
+	@Key("artifacts.compress.extensions")
+	String artifactsCompressExtensions();
+
+	@Key("artifacts.retention.days")
+	int artifactsRetentionDays();
+
+	@Key("artifacts.retention.max.mb")
+	long artifactsRetentionMaxMb();
 	
 	@Key("action.delay")
 	double slowMotion();
@@ -134,12 +170,96 @@ public interface Configuration extends Config {
 	@Key("pause.high")
 	long pauseHigh();
 
+	@Key("click.settle")
+	String clickSettle();
+
+	@Key("settle.quiet.ms")
+	long settleQuietMillis();
+
+	@Key("settle.max.ms")
+	long settleMaxMillis();
+
+	@Key("timeout.adaptive")
+	boolean adaptiveTimeout();
+
+	@Key("timeout.adaptive.factor")
+	double adaptiveTimeoutFactor();
+
+	@Key("timeout.adaptive.floor.ms")
+	long adaptiveTimeoutFloor();
+
+	@Key("timeout.adaptive.min.samples")
+	int adaptiveTimeoutMinSamples();
+
+	@Key("timeout.adaptive.history")
+	String adaptiveTimeoutHistory();
+
+	@Key("table.paging.max.batches")
+	int tablePagingMaxBatches();
+
+	@Key("dataset.folders")
+	String datasetFolders();
+
+	@Key("log.level")
+	String logLevel();
+
+	@Key("log.buffer.level")
+	String logBufferLevel();
+
+	@Key("log.buffer.size")
+	int logBufferSize();
+
 	@Key("email.max.timeout")
 	int maxEmailTimeout();
 
 	@Key("max.retry")
 	int maxRetry();
 
+	@Key("report.async")
+	boolean reportAsync();
+
+	@Key("report.queue.capacity")
+	int reportQueueCapacity();
+
+	@Key("report.queue.policy")
+	String reportQueuePolicy();
+
+	@Key("report.flush.tests")
+	int reportFlushTests();
+
+	@Key("report.flush.seconds")
+	long reportFlushSeconds();
+
+	@Key("screenshot.type")
+	String screenshotType();
+
+	@Key("screenshot.quality")
+	int screenshotQuality();
+
+	@Key("screenshot.full.page")
+	boolean screenshotFullPage();
+
+	@Key("report.shard")
+	String reportShard();
+
+	@Key("report.run.id")
+	String reportRunId();
+
+	@Key("step.events")
+	boolean stepEvents();
+
+	@Key("step.events.file")
+	String stepEventsFile();
+
+	@Key("metrics.enabled")
+	boolean metricsEnabled();
+
+	@Key("metrics.file")
+	String metricsFile();
+
+	@Key("metrics.top.locators")
+	int metricsTopLocators();
+
 	@Key("report.title")
 	String reportTitle();
 
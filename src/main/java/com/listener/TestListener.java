@@ -7,16 +7,17 @@ import org.testng.ITestListener;
 import org.testng.ITestResult;
  
 import com.ui.base.PlaywrightWrapper;
+import com.ui.utilities.TestLog;
 
 public class TestListener extends PlaywrightWrapper implements ITestListener {
 	
 	public void  onTestFailure(ITestResult result) {
 		if(result.getThrowable() != null) {
-			System.out.println("ITest Listener Execution");
+			TestLog.info("ITest Listener Execution");
 			StringWriter writer = new StringWriter(); 
 			PrintWriter printWriter = new PrintWriter(writer);
 			result.getThrowable().printStackTrace(printWriter);
-			System.out.println(writer.toString());
+			TestLog.error("{}", writer);
 			reportFail(writer.toString());
 		} 
 	  }
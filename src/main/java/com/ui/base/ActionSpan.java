@@ -0,0 +1,92 @@
+package com.ui.base;
+
+import com.config.ConfigurationManager;
+import com.ui.utilities.ActionMetrics;
+import com.ui.utilities.FlightEvents;
+import com.ui.utilities.Reporter;
+import com.ui.utilities.StepEventLog;
+
+/**
+ * Times one wrapper action and, when it is closed, writes its step event (see StepEventLog) and records
+ * its latency (see ActionMetrics) and a JFR event (see FlightEvents). No span is opened when all three are off.
+ * Only the outermost action of a thread is recorded: an action called by another one (click from clickAndType)
+ * is part of the time of its caller. The outcome is fail when the action reported a fail step or threw.
+ */
+public class ActionSpan {
+
+    private static final ThreadLocal<ActionSpan> current = new ThreadLocal<ActionSpan>();
+
+    /**
+     * The switches are read once
+     */
+    private static class Switch {
+        static final boolean ENABLED = ConfigurationManager.configuration().stepEvents() || ActionMetrics.isEnabled();
+    }
+
+    private final String test;
+    private final String action;
+    private final String locator;
+    private final long startedAt = System.currentTimeMillis();
+    private final long start = System.nanoTime();
+    private final int failedStepsAtStart = Reporter.failedSteps();
+    private int retries;
+    private boolean completed;
+    private final FlightEvents.Action event = new FlightEvents.Action();
+
+    private ActionSpan(String test, String action, String locator) {
+        this.test = test;
+        this.action = action;
+        this.locator = locator;
+        event.begin();
+    }
+
+    /**
+     * @return true if the actions are recorded (step events, latencies or JFR), checked before building a span
+     */
+    static boolean isOn() {
+        return Switch.ENABLED || FlightEvents.actionsRecorded();
+    }
+
+    /**
+     * @return the span of the action, or null when the thread already runs an action (or spans are off)
+     */
+    static ActionSpan open(String test, String action, String locator) {
+        if (!isOn() || current.get() != null) return null;
+        ActionSpan span = new ActionSpan(test, action, locator);
+        current.set(span);
+        return span;
+    }
+
+    /**
+     * Use this method when the running action takes a fallback (re-evaluation, sequential probe ...)
+     */
+    static void retry() {
+        ActionSpan span = current.get();
+        if (span != null) span.retries++;
+    }
+
+    /**
+     * Marks the action as returned normally (not thrown)
+     */
+    void complete() {
+        completed = true;
+    }
+
+    void close() {
+        current.remove();
+        long elapsed = System.nanoTime() - start;
+        boolean failed = !completed || Reporter.failedSteps() > failedStepsAtStart;
+        ActionMetrics.record(action, locator, elapsed);
+        StepEventLog.append(test, action, locator, startedAt, elapsed / 1_000_000, failed ? "fail" : "pass", retries);
+        event.end();
+        if (event.shouldCommit()) {
+            event.action = action;
+            event.locator = locator;
+            event.test = test;
+            event.outcome = failed ? "fail" : "pass";
+            event.retries = retries;
+            event.commit();
+        }
+    }
+
+}
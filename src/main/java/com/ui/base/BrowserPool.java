@@ -0,0 +1,145 @@
+package com.ui.base;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.config.ConfigurationManager;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+import com.ui.utilities.RunStats;
+import com.ui.utilities.TestLog;
+
+/**
+ * Keeps one Playwright driver and one Browser alive per worker thread for the whole suite,
+ * so that every test class only pays for a new BrowserContext.
+ * Playwright is not thread safe, hence the pool is per thread and never shares a browser across workers.
+ */
+public class BrowserPool {
+
+    public static final String HIT = "browser.pool.hit";
+    public static final String MISS = "browser.pool.miss";
+    public static final String LAUNCH_MS = "browser.pool.launch.ms";
+    public static final String SAVED_MS = "browser.pool.saved.ms";
+
+    private static final ThreadLocal<PooledBrowser> worker = new ThreadLocal<PooledBrowser>();
+    private static final Set<PooledBrowser> alive = ConcurrentHashMap.newKeySet();
+
+    private BrowserPool() {
+    }
+
+    /**
+     * The driver and browser owned by a single worker thread
+     */
+    public static class PooledBrowser {
+        private final String key;
+        private final Playwright playwright;
+        private final Browser browser;
+
+        private PooledBrowser(String key, Playwright playwright, Browser browser) {
+            this.key = key;
+            this.playwright = playwright;
+            this.browser = browser;
+        }
+
+        public Playwright getPlaywright() {
+            return playwright;
+        }
+
+        public Browser getBrowser() {
+            return browser;
+        }
+
+        private void close() {
+            try {
+                playwright.close();
+            } catch (PlaywrightException e) {
+                TestLog.error("Unable to close the pooled browser : {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the browser of the current worker, launching it only when there is none yet,
+     * the requested browser differs or the previous one got disconnected.
+     *
+     * @param browserName The accepted browsers are chrome, edge, firefox, safari (webkit)
+     * @param headless    true to run in headless mode
+     * @return the pooled browser of the current thread
+     */
+    public static PooledBrowser acquire(String browserName, boolean headless) {
+        String key = browserName.toLowerCase() + "|" + headless;
+        PooledBrowser current = worker.get();
+        if (current != null && current.key.equals(key) && current.browser.isConnected()) {
+            RunStats.increment(HIT);
+            return current;
+        }
+        if (current != null) {
+            alive.remove(current);
+            current.close();
+        }
+
+        long start = System.nanoTime();
+        Playwright playwright = Playwright.create();
+        PooledBrowser launched = new PooledBrowser(key, playwright, launch(playwright, browserName, headless));
+        RunStats.add(LAUNCH_MS, (System.nanoTime() - start) / 1_000_000);
+        RunStats.increment(MISS);
+
+        worker.set(launched);
+        alive.add(launched);
+        return launched;
+    }
+
+    /**
+     * Launches the preferred browser on the given driver or connects to a remote one when the target is remote.
+     *
+     * @param playwright  The driver to launch the browser with
+     * @param browserName The accepted browsers are chrome, edge, firefox, safari (webkit)
+     * @param headless    true to run in headless mode
+     * @return the launched browser or null when the browser name is not supported
+     */
+    public static Browser launch(Playwright playwright, String browserName, boolean headless) {
+        if (RemoteBrowsers.isRemote()) {
+            return RemoteBrowsers.connect(playwright, browserName);
+        }
+        BrowserType.LaunchOptions options = new BrowserType.LaunchOptions()
+                .setHeadless(headless)
+                .setSlowMo(ConfigurationManager.configuration().slowMotion());
+
+        switch (browserName.toLowerCase()) {
+            case "chrome":
+                return playwright.chromium().launch(options.setChannel("chrome"));
+            case "edge":
+                return playwright.chromium().launch(options.setChannel("msedge"));
+            case "firefox":
+                return playwright.firefox().launch(options);
+            case "safari":
+                return playwright.webkit().launch(options);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Closes every pooled browser, to be invoked once all the classes are completed
+     */
+    public static void shutdown() {
+        for (PooledBrowser pooled : alive) {
+            pooled.close();
+        }
+        alive.clear();
+        publishStats();
+    }
+
+    /**
+     * Estimates the launch time saved by the hits using the average launch time of the misses
+     */
+    public static void publishStats() {
+        long misses = RunStats.get(MISS);
+        if (misses == 0) return;
+        long saved = RunStats.get(HIT) * (RunStats.get(LAUNCH_MS) / misses);
+        RunStats.add(SAVED_MS, saved - RunStats.get(SAVED_MS));
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.ui.base;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ui.utilities.RunStats;
+
+/**
+ * A table captured once (see PlaywrightWrapper.captureTable) to run many cell checks against it.
+ * The rows are looked up through a hash index of the identifier column, built on its first use,
+ * and the outcome of every check is kept until PlaywrightWrapper.assertCapturedTable reports them in one step.
+ */
+public class CapturedTable {
+
+    public static final String INDEX_BUILT = "table.index.built";
+    public static final String INDEX_HIT = "table.index.hit";
+    public static final String INDEX_SCAN = "table.index.scan";
+
+    private final String name;
+    private final TableSnapshot snapshot;
+    private final Map<Integer, Map<String, Integer>> indexes = new HashMap<Integer, Map<String, Integer>>();
+    private final List<String> passed = new ArrayList<String>();
+    private final List<String> failed = new ArrayList<String>();
+
+    public CapturedTable(String name, TableSnapshot snapshot) {
+        this.name = name;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Use this method to check the cell of a row, like assertCellValueInRow but without a new read of the table.
+     * The row is looked up by {@link #findRow}: unlike assertCellValueInRow, which takes the first row whose
+     * identifier contains rowIdentifierValue, a row whose identifier equals it is preferred.
+     *
+     * @param rowIdentifierColumn The header (or 1-based index) of the identifier column
+     * @param rowIdentifierValue  The identifier of the row
+     * @param targetColumn        The header (or 1-based index) of the checked column
+     * @param expectedValue       The expected text
+     * @param matchType           "exact" | "includes" (default)
+     * @return this table, to chain the checks
+     */
+    public CapturedTable expectCell(String rowIdentifierColumn, String rowIdentifierValue,
+                                    String targetColumn, String expectedValue, String matchType) {
+        if (matchType == null || matchType.isBlank()) matchType = "includes";
+        String check = "column '" + targetColumn + "' of row '" + rowIdentifierValue + "'";
+
+        int idColIdx = TableSnapshot.columnIndex(rowIdentifierColumn, snapshot.headers());
+        int tgtColIdx = TableSnapshot.columnIndex(targetColumn, snapshot.headers());
+        if (idColIdx < 0) {
+            failed.add(check + ": row identifier column '" + rowIdentifierColumn + "' not found in headers " + snapshot.headers());
+            return this;
+        }
+        if (tgtColIdx < 0) {
+            failed.add(check + ": target column '" + targetColumn + "' not found in headers " + snapshot.headers());
+            return this;
+        }
+
+        int row = findRow(idColIdx, rowIdentifierValue);
+        if (row < 0) {
+            failed.add(check + ": no row where column '" + rowIdentifierColumn + "' contains '" + rowIdentifierValue + "'");
+            return this;
+        }
+
+        String actual = snapshot.cell(row, tgtColIdx);
+        if (TableSnapshot.matches(actual, expectedValue, matchType)) {
+            passed.add(check + " matched '" + expectedValue + "' (" + matchType + ")");
+        } else {
+            failed.add(check + ": expected '" + expectedValue + "' (" + matchType + ") but found '" + actual + "'");
+        }
+        return this;
+    }
+
+    /**
+     * Finds the row whose cell equals the value (normalized, through the index of the column), else the first row
+     * whose cell contains it. This differs from assertCellValueInRow, which always takes the first containing row:
+     * for the identifier "12", a row "12" is found here even when a row "112" comes before it.
+     *
+     * @param column 0-based column index
+     * @param value  The identifier to look for
+     * @return the 0-based row index or -1 when no row matches
+     */
+    public int findRow(int column, String value) {
+        Integer exact = index(column).get(TableSnapshot.normalize(value));
+        if (exact != null) {
+            RunStats.increment(INDEX_HIT);
+            return exact;
+        }
+        RunStats.increment(INDEX_SCAN);
+        for (int r = 0; r < snapshot.rowCount(); r++) {
+            if (TableSnapshot.matches(snapshot.cell(r, column), value, "includes")) return r;
+        }
+        return -1;
+    }
+
+    /**
+     * The index of a column maps the normalized text of a cell to the first row that holds it
+     */
+    private Map<String, Integer> index(int column) {
+        return indexes.computeIfAbsent(column, c -> {
+            Map<String, Integer> index = new HashMap<String, Integer>();
+            for (int r = 0; r < snapshot.rowCount(); r++) {
+                String cell = snapshot.cell(r, c);
+                if (cell != null) index.putIfAbsent(TableSnapshot.normalize(cell), r);
+            }
+            RunStats.increment(INDEX_BUILT);
+            return index;
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public TableSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public List<String> getPassed() {
+        return Collections.unmodifiableList(passed);
+    }
+
+    public List<String> getFailed() {
+        return Collections.unmodifiableList(failed);
+    }
+
+    /**
+     * Use this method to start a new series of checks on the same capture
+     */
+    public void clearChecks() {
+        passed.clear();
+        failed.clear();
+    }
+
+}
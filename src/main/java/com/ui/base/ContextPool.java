@@ -0,0 +1,192 @@
+package com.ui.base;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+import com.config.ConfigurationManager;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Video;
+import com.microsoft.playwright.options.LoadState;
+import com.microsoft.playwright.options.WaitUntilState;
+import com.ui.utilities.RunStats;
+import com.ui.utilities.TestLog;
+
+/**
+ * Keeps a few ready to use contexts per worker thread, each with its page already created,
+ * the timeouts applied and the navigation to the start URL in flight.
+ * The warm-up navigation only waits for the commit, so the browser keeps loading the page
+ * in parallel while the worker moves on to the next test class.
+ * Like the browser pool the contexts are per thread, as Playwright objects are not thread safe.
+ * A warmed context never runs a test: its video (when recorded) is deleted with it.
+ */
+public class ContextPool {
+
+    public static final String HIT = "context.pool.hit";
+    public static final String MISS = "context.pool.miss";
+    public static final String READY_WAIT_MS = "context.pool.ready.wait.ms";
+
+    private static final Queue<Deque<WarmContext>> workers = new ConcurrentLinkedQueue<Deque<WarmContext>>();
+    private static final ThreadLocal<Deque<WarmContext>> warmed = ThreadLocal.withInitial(() -> {
+        Deque<WarmContext> queue = new ArrayDeque<WarmContext>();
+        workers.add(queue);
+        return queue;
+    });
+    private static final ThreadLocal<Request> lastRequest = new ThreadLocal<Request>();
+
+    private ContextPool() {
+    }
+
+    /**
+     * A context and its page, optionally already navigated to the start URL
+     */
+    public static class WarmContext {
+        private final String key;
+        private final BrowserContext context;
+        private final Page page;
+        private final boolean preloaded;
+
+        private WarmContext(String key, BrowserContext context, Page page, boolean preloaded) {
+            this.key = key;
+            this.context = context;
+            this.page = page;
+            this.preloaded = preloaded;
+        }
+
+        public BrowserContext getContext() {
+            return context;
+        }
+
+        public Page getPage() {
+            return page;
+        }
+
+        /**
+         * @return true if the page is already on the start URL (the load state is awaited on acquire)
+         */
+        public boolean isPreloaded() {
+            return preloaded;
+        }
+
+        private boolean isUsable(Browser browser, String wantedKey) {
+            return key.equals(wantedKey) && context.browser() == browser && browser.isConnected() && !page.isClosed();
+        }
+
+        private void close() {
+            try {
+                Video video = page.video();
+                context.close(); // the video is complete
+                if (video != null) video.delete();
+            } catch (PlaywrightException e) {
+                TestLog.error("Unable to close the warmed context : {}", e.getMessage());
+            }
+        }
+    }
+
+    private static class Request {
+        private final Browser browser;
+        private final String key;
+        private final Supplier<Browser.NewContextOptions> options;
+        private final String url;
+
+        private Request(Browser browser, String key, Supplier<Browser.NewContextOptions> options, String url) {
+            this.browser = browser;
+            this.key = key;
+            this.options = options;
+            this.url = url;
+        }
+    }
+
+    /**
+     * Takes a warmed context of the current worker or creates a new (not navigated) one.
+     *
+     * @param browser The browser of the current worker
+     * @param key     Identifies the context options, only contexts created with the same key are reused
+     * @param options Creates the context options
+     * @param url     The start URL the warmed pages are navigated to
+     * @return the context and page for the test class
+     */
+    public static WarmContext acquire(Browser browser, String key, Supplier<Browser.NewContextOptions> options, String url) {
+        lastRequest.set(new Request(browser, key, options, url));
+        Deque<WarmContext> queue = warmed.get();
+        while (!queue.isEmpty()) {
+            WarmContext candidate = queue.poll();
+            if (!candidate.isUsable(browser, key)) {
+                candidate.close();
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                candidate.page.waitForLoadState(LoadState.LOAD);
+            } catch (PlaywrightException e) {
+                candidate.close();
+                continue;
+            }
+            RunStats.add(READY_WAIT_MS, (System.nanoTime() - start) / 1_000_000);
+            RunStats.increment(HIT);
+            return candidate;
+        }
+        RunStats.increment(MISS);
+        return create(browser, key, options.get(), null);
+    }
+
+    /**
+     * Tops up the contexts of the current worker to the configured pool size,
+     * using the browser, options and URL of the last acquire on this thread.
+     */
+    public static void warmUp() {
+        Request request = lastRequest.get();
+        int size = ConfigurationManager.configuration().contextPoolSize();
+        if (request == null || size <= 0 || !request.browser.isConnected()) return;
+
+        Deque<WarmContext> queue = warmed.get();
+        queue.removeIf(candidate -> {
+            boolean stale = !candidate.isUsable(request.browser, request.key);
+            if (stale) candidate.close();
+            return stale;
+        });
+        while (queue.size() < size) {
+            try {
+                queue.add(create(request.browser, request.key, request.options.get(), request.url));
+            } catch (PlaywrightException e) {
+                TestLog.error("Unable to warm up a context : {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Closes the warmed contexts of every worker and deletes their videos, use this method at the end of
+     * the suite (the workers are idle) before the browsers are closed
+     */
+    public static void drain() {
+        for (Deque<WarmContext> queue : workers) {
+            while (!queue.isEmpty()) {
+                queue.poll().close();
+            }
+        }
+    }
+
+    private static WarmContext create(Browser browser, String key, Browser.NewContextOptions options, String url) {
+        BrowserContext context = browser.newContext(options);
+        context.setDefaultNavigationTimeout(ConfigurationManager.configuration().timeout());
+        Page page = context.newPage();
+        page.setDefaultTimeout(ConfigurationManager.configuration().timeout());
+        if (url == null) {
+            return new WarmContext(key, context, page, false);
+        }
+        try {
+            page.navigate(url, new Page.NavigateOptions().setWaitUntil(WaitUntilState.COMMIT));
+        } catch (PlaywrightException e) {
+            context.close();
+            throw e;
+        }
+        return new WarmContext(key, context, page, true);
+    }
+
+}
@@ -42,6 +42,7 @@ import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Playwright;
 import com.microsoft.playwright.options.FormData;
 import com.microsoft.playwright.options.RequestOptions;
+import com.ui.utilities.RunStats;
 
 public class DriverFactory  {
 
@@ -51,9 +52,16 @@ public class DriverFactory  {
 	protected static final ThreadLocal<Page> page = new ThreadLocal<Page>();
 	protected static final ThreadLocal<Page> secondPage = new ThreadLocal<Page>();
 	protected static final ThreadLocal<FrameLocator> frameLocator = new ThreadLocal<FrameLocator>();
+	private static final ThreadLocal<Runnable> pendingBrowserSetup = new ThreadLocal<Runnable>();
+
+	public static final String LAZY_DEFERRED = "browser.lazy.deferred";
+	public static final String LAZY_OPENED = "browser.lazy.opened";
+	public static final String LAZY_SKIPPED = "browser.lazy.skipped";
 
 	/**
 	 * Launches the preferred browser in the head(less) mode.
+	 * When browser reuse is enabled, the browser of the current worker is taken from the pool
+	 * and only a new context has to be created for the test class.
 	 * @param browserName The accepted browsers are chrome, edge, firefox, safari (webkit)
 	 * @param headless Send true if you like to run in headless mode else false
 	 * @author Srikanth
@@ -62,46 +70,80 @@ public class DriverFactory  {
 	
 	public void setBrowser(String browserName, boolean headless) throws Exception {	
 		System.setProperty("PLAYWRIGHT_SKIP_BROWSER_DOWNLOAD", "1");
-		playwright.set(Playwright.create());
-		 
-		switch (browserName.toLowerCase()) {
-		case "chrome":
-			browser.set(getPlaywright().chromium().launch(
-					new BrowserType.LaunchOptions().setChannel("chrome")
-					.setHeadless(headless)
-					.setSlowMo(ConfigurationManager.configuration().slowMotion())));
-			break;
-		case "edge":
-			 browser.set(getPlaywright().chromium().launch(
-					new BrowserType.LaunchOptions().setChannel("msedge")
-					.setHeadless(headless)
-					.setSlowMo(ConfigurationManager.configuration().slowMotion())));
-			break;
-		case "firefox":
-			 browser.set(getPlaywright().firefox().launch(
-					new BrowserType.LaunchOptions()
-					.setHeadless(headless)
-					.setSlowMo(ConfigurationManager.configuration().slowMotion())));
-		case "safari":
-			 browser.set(getPlaywright().webkit().launch(
-					new BrowserType.LaunchOptions()
-					.setHeadless(headless)
-					.setSlowMo(ConfigurationManager.configuration().slowMotion())));
-	
-		default:
-			break;
+		if (ConfigurationManager.configuration().browserReuse()) {
+			BrowserPool.PooledBrowser pooled = BrowserPool.acquire(browserName, headless);
+			playwright.set(pooled.getPlaywright());
+			browser.set(pooled.getBrowser());
+		} else {
+			playwright.set(Playwright.create());
+			browser.set(BrowserPool.launch(getPlaywright(), browserName, headless));
+		}
+	}
+
+	/**
+	 * Releases the browser of the test class. The pooled browser is kept alive for the next class
+	 * whereas a browser launched only for this class is closed along with its driver.
+	 */
+	public void releaseBrowser() {
+		if (!ConfigurationManager.configuration().browserReuse() && getPlaywright() != null) {
+			getPlaywright().close();
 		}
 	}
 	
+	/**
+	 * Registers the browser, context and page creation of the test class.
+	 * When the lazy launch is enabled it runs only on the first call to getPage(), getContext() or getBrowser(),
+	 * so the classes that never touch the page do not start a browser at all.
+	 * @param setup Launches the browser, creates the context and page and loads the URL
+	 */
+	protected void deferBrowserSetup(Runnable setup) {
+		if (!ConfigurationManager.configuration().browserLazy()) {
+			setup.run();
+			return;
+		}
+		pendingBrowserSetup.set(setup);
+		RunStats.increment(LAZY_DEFERRED);
+	}
+
+	/**
+	 * Drops the deferred browser setup of the class (if it never ran)
+	 * @return true if the class completed without launching the browser
+	 */
+	protected boolean skipPendingBrowserSetup() {
+		if (pendingBrowserSetup.get() == null) return false;
+		pendingBrowserSetup.remove();
+		RunStats.increment(LAZY_SKIPPED);
+		return true;
+	}
+
+	/**
+	 * @return true if the page of the current class is created, without creating it
+	 */
+	public boolean isBrowserOpen() {
+		return page.get() != null;
+	}
+
+	private void openPendingBrowser() {
+		Runnable setup = pendingBrowserSetup.get();
+		if (setup != null) {
+			pendingBrowserSetup.remove();
+			RunStats.increment(LAZY_OPENED);
+			setup.run();
+		}
+	}
+
 	public Browser getBrowser() {
+		openPendingBrowser();
 		return  browser.get();
 	}
 
 	public BrowserContext getContext() {
+		openPendingBrowser();
 		return context.get();
 	}
 
 	public Page getPage() {
+		openPendingBrowser();
 		return page.get();
 	}
 	
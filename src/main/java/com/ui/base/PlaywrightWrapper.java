@@ -28,11 +28,15 @@ package com.ui.base;
 import java.awt.GraphicsDevice;
 import java.awt.GraphicsEnvironment;
 import java.awt.HeadlessException;
+import java.net.URI;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 
@@ -48,7 +52,12 @@ import com.microsoft.playwright.options.LoadState;
 
 import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
 
+import com.ui.utilities.DatasetReader;
+import com.ui.utilities.FlightEvents;
+import com.ui.utilities.LocatorTimeouts;
 import com.ui.utilities.Reporter;
+import com.ui.utilities.RunStats;
+import com.ui.utilities.TestLog;
 import org.testng.Assert;
 import org.testng.asserts.SoftAssert;
 
@@ -58,6 +67,43 @@ public class PlaywrightWrapper extends Reporter {
     double timeOut = 40000;
     String attachment = "";
 
+    public static final String WAIT_COUNT = "wait.count";
+    public static final String WAIT_MS = "wait.ms";
+    public static final String WAIT_SLEEP_BUDGET_MS = "wait.sleep.budget.ms";
+    public static final String WAIT_SAVED_MS = "wait.saved.ms";
+    public static final String TABLE_SELECTOR_CACHE_HIT = "table.selector.cache.hit";
+    public static final String TABLE_SELECTOR_CACHE_MISS = "table.selector.cache.miss";
+
+    private static final Map<String, String> winningTableSelectors = new ConcurrentHashMap<String, String>();
+
+    /**
+     * Runs the body of a wrapper action inside an ActionSpan, so the action writes its step event
+     * (test, thread, locator, duration, outcome, retries) to the NDJSON stream of the report.
+     * When the spans are off the body runs right away, the call site still allocates its lambda.
+     *
+     * @param action  The name of the public wrapper method
+     * @param locator The locator, URL or table name the action works on
+     */
+    private <T> T span(String action, String locator, Supplier<T> body) {
+        if (!ActionSpan.isOn()) return body.get();
+        ActionSpan span = ActionSpan.open(getTestName(), action, locator);
+        if (span == null) return body.get();
+        try {
+            T result = body.get();
+            span.complete();
+            return result;
+        } finally {
+            span.close();
+        }
+    }
+
+    private void runSpan(String action, String locator, Runnable body) {
+        span(action, locator, () -> {
+            body.run();
+            return null;
+        });
+    }
+
     /**
      * Load the URL on the browser launched
      *
@@ -66,6 +112,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean navigate(String url) {
+        return span("navigate", url, () -> navigateAction(url));
+    }
+
+    private boolean navigateAction(String url) {
         try {
             getPage().navigate(url);
             reportStep("The page with URL : " + url + " is loaded", "info");
@@ -77,6 +127,10 @@ public class PlaywrightWrapper extends Reporter {
     }
 
     public void navigateToBack() {
+        runSpan("navigateToBack", null, () -> navigateToBackAction());
+    }
+
+    private void navigateToBackAction() {
         try {
             getPage().goBack();
         } catch (PlaywrightException e) {
@@ -91,6 +145,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public void maximize() {
+        runSpan("maximize", null, () -> maximizeAction());
+    }
+
+    private void maximizeAction() {
         try {
             GraphicsDevice gd = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
             getPage().setViewportSize(gd.getDisplayMode().getWidth(), gd.getDisplayMode().getHeight());
@@ -107,6 +165,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean isVisible(String locator, String elementName) {
+        return span("isVisible", locator, () -> isVisibleAction(locator, elementName));
+    }
+
+    private boolean isVisibleAction(String locator, String elementName) {
         boolean bVisible = false;
         try {
             waitForAppearance(locator);
@@ -136,10 +198,14 @@ public class PlaywrightWrapper extends Reporter {
      * @return true     when the date is filled successfully
      */
     public boolean setNativeDate(String locator, String isoDate, String name) {
+        return span("setNativeDate", locator, () -> setNativeDateAction(locator, isoDate, name));
+    }
+
+    private boolean setNativeDateAction(String locator, String isoDate, String name) {
         try {
             getPage().setDefaultTimeout(ConfigurationManager.configuration().timeout());
             Locator element = getPage().locator(locator);
-            element.waitFor();
+            awaitActionable(element, locator);
             element.fill("");               // clear existing
             element.fill(isoDate);          // type ISO date
             element.press("Tab");           // trigger blur / onChange
@@ -161,6 +227,10 @@ public class PlaywrightWrapper extends Reporter {
      * @return true          when the date matches
      */
     public boolean verifyDateValue(String locator, String expectedIso, String name) {
+        return span("verifyDateValue", locator, () -> verifyDateValueAction(locator, expectedIso, name));
+    }
+
+    private boolean verifyDateValueAction(String locator, String expectedIso, String name) {
         try {
             String actual = getPage().locator(locator).inputValue();   // works for native date & many libraries
             if (actual.equals(expectedIso)) {
@@ -185,6 +255,10 @@ public class PlaywrightWrapper extends Reporter {
      * @return true          when the value matches
      */
     public boolean verifySelectValue(String locator, String expectedValue, String name) {
+        return span("verifySelectValue", locator, () -> verifySelectValueAction(locator, expectedValue, name));
+    }
+
+    private boolean verifySelectValueAction(String locator, String expectedValue, String name) {
         try {
             String actual = getPage().locator(locator).inputValue();   // value attr
             if (actual.equals(expectedValue)) {
@@ -209,6 +283,10 @@ public class PlaywrightWrapper extends Reporter {
      * @return true            when every fragment is found; false otherwise.
      */
     public boolean verifyUrlContains(String expectedFragment, String name) {
+        return span("verifyUrlContains", expectedFragment, () -> verifyUrlContainsAction(expectedFragment, name));
+    }
+
+    private boolean verifyUrlContainsAction(String expectedFragment, String name) {
         try {
             String currentUrl = getPage().url();
             if (!currentUrl.contains(expectedFragment)) {
@@ -249,6 +327,11 @@ public class PlaywrightWrapper extends Reporter {
      * @return true                  when the displayed label matches
      */
     public boolean verifyReactSelectValue(String valueContainerLocator, String expectedLabel, String name) {
+        return span("verifyReactSelectValue", valueContainerLocator,
+                () -> verifyReactSelectValueAction(valueContainerLocator, expectedLabel, name));
+    }
+
+    private boolean verifyReactSelectValueAction(String valueContainerLocator, String expectedLabel, String name) {
         try {
             String actual = getPage().locator(valueContainerLocator).innerText().trim();
             if (actual.equals(expectedLabel)) {
@@ -277,6 +360,10 @@ public class PlaywrightWrapper extends Reporter {
      */
 
     public boolean isVisible(String locator) {
+        return span("isVisible", locator, () -> isVisibleAction(locator));
+    }
+
+    private boolean isVisibleAction(String locator) {
         boolean bVisible = false;
         try {
             pause("low");
@@ -296,6 +383,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean isNotVisible(String locator, String elementName) {
+        return span("isNotVisible", locator, () -> isNotVisibleAction(locator, elementName));
+    }
+
+    private boolean isNotVisibleAction(String locator, String elementName) {
         boolean bVisible = false;
         try {
             pause("low");
@@ -322,6 +413,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean clear(String locator) {
+        return span("clear", locator, () -> clearAction(locator));
+    }
+
+    private boolean clearAction(String locator) {
         try {
             getPage().locator(locator).clear();
             reportStep("The text box contents is cleared", "info");
@@ -343,6 +438,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean typeWithType(String locator, String value, String name) {
+        return span("typeWithType", locator, () -> typeWithTypeAction(locator, value, name));
+    }
+
+    private boolean typeWithTypeAction(String locator, String value, String name) {
         try {
             getPage().locator(locator).type(value);
             reportStep("The text box : " + name + " is typed with value : " + value, "info");
@@ -378,6 +477,10 @@ public class PlaywrightWrapper extends Reporter {
 //        return false;
 //    }
     public boolean type(String locator, String value, String name) {
+        return span("type", locator, () -> typeAction(locator, value, name));
+    }
+
+    private boolean typeAction(String locator, String value, String name) {
         try {
             Locator input;
 
@@ -390,10 +493,11 @@ public class PlaywrightWrapper extends Reporter {
                 input = getPage().locator(locator);   // fallback to regular CSS selector
             }
 
+            awaitActionable(input, locator);
             input.fill("");        // clear the field
             input.fill(value);     // type the value
 
-            System.out.println("The Text box is filled with the value: " + value);
+            TestLog.info("The Text box is filled with the value: {}", value);
             reportStep("The text box : " + name + " is typed with value : " + value, "info");
             return true;
 
@@ -416,6 +520,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean typeInFrame(String locator, String value, String name) {
+        return span("typeInFrame", locator, () -> typeInFrameAction(locator, value, name));
+    }
+
+    private boolean typeInFrameAction(String locator, String value, String name) {
         try {
             getFrameLocator().locator(locator).fill("");
             ;
@@ -439,6 +547,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean typeAndEnter(String locator, String value, String name) {
+        return span("typeAndEnter", locator, () -> typeAndEnterAction(locator, value, name));
+    }
+
+    private boolean typeAndEnterAction(String locator, String value, String name) {
         try {
             getPage().locator(locator).fill("");
             ;
@@ -465,6 +577,10 @@ public class PlaywrightWrapper extends Reporter {
      */
 
     public boolean typeAndSpace(String locator, String value, String name) {
+        return span("typeAndSpace", locator, () -> typeAndSpaceAction(locator, value, name));
+    }
+
+    private boolean typeAndSpaceAction(String locator, String value, String name) {
         try {
             getPage().locator(locator).fill("");
             ;
@@ -489,9 +605,13 @@ public class PlaywrightWrapper extends Reporter {
      */
 
     public void pressDownArrowAndEnter(String locator) {
+        runSpan("pressDownArrowAndEnter", locator, () -> pressDownArrowAndEnterAction(locator));
+    }
+
+    private void pressDownArrowAndEnterAction(String locator) {
         try {
             getPage().setDefaultTimeout(ConfigurationManager.configuration().timeout());
-            getPage().locator(locator).waitFor();
+            awaitActionable(getPage().locator(locator), locator);
             getPage().locator(locator).scrollIntoViewIfNeeded();
             getPage().locator(locator).click();
             getPage().locator(locator).press("ArrowDown");
@@ -510,6 +630,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public void pressDownArrow(String locator) {
+        runSpan("pressDownArrow", locator, () -> pressDownArrowAction(locator));
+    }
+
+    private void pressDownArrowAction(String locator) {
         try {
             getPage().locator(locator).press("ArrowDown");
         } catch (PlaywrightException e) {
@@ -528,6 +652,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean uploadFile(String locator, String fileName, String name) {
+        return span("uploadFile", locator, () -> uploadFileAction(locator, fileName, name));
+    }
+
+    private boolean uploadFileAction(String locator, String fileName, String name) {
         try {
             getPage().locator(locator).setInputFiles(Paths.get(fileName));
             reportStep("The text box :" + name + " is uploaded with file :" + fileName, "info");
@@ -698,9 +826,25 @@ public class PlaywrightWrapper extends Reporter {
 
     // UPDATED click() in PlaywrightWrapper.java
     public boolean click(String locator, String name) {
+        return click(locator, name, SettleStrategy.from(ConfigurationManager.configuration().clickSettle()));
+    }
+
+    /**
+     * Use this method to click an element (button, link or getByText('...')) and wait for the page to settle.
+     *
+     * @param locator The locator to identify the element
+     * @param name    The name of the element (label)
+     * @param settle  How to wait for the page after a link or text click (see {@link SettleStrategy})
+     * @return true if the element is clicked else false
+     */
+    public boolean click(String locator, String name, SettleStrategy settle) {
+        return span("click", locator, () -> clickAction(locator, name, settle));
+    }
+
+    private boolean clickAction(String locator, String name, SettleStrategy settle) {
         try {
             // STEP 1: Setup timeout configuration
-            System.out.println("Setting Default Time");
+            TestLog.debug("Setting Default Time");
             getPage().setDefaultTimeout(ConfigurationManager.configuration().timeout());
 
             // ===== NEW: Support getByText('...') selectors (minimal, safe) =====
@@ -713,24 +857,19 @@ public class PlaywrightWrapper extends Reporter {
                         inner = inner.substring(1, inner.length() - 1);
                     }
 
-                    System.out.println("Clicking using getByText(): " + inner);
+                    TestLog.debug("Clicking using getByText(): {}", inner);
                     // Use Playwright's page.getByText API and pick the first match
                     Locator textLocator = getPage().getByText(inner).first();
 
                     // Wait for the text element and make sure it's visible/interactable
-                    textLocator.waitFor();
+                    awaitActionable(textLocator, locator);
                     textLocator.scrollIntoViewIfNeeded();
 
                     // Click the element
                     textLocator.click();
 
                     // Do the same stability wait used for link navigation to allow page changes / dynamic rendering
-                    try {
-                        getPage().waitForLoadState(LoadState.NETWORKIDLE);
-                    } catch (PlaywrightException ignored) {
-                        // swallow if waiting for NETWORKIDLE fails (some pages don't reach network idle)
-                    }
-                    getPage().waitForTimeout(1000);
+                    settle(settle);
 
                     reportStep("Clicked element by text '" + name + "' -> '" + inner + "'", "info");
                     return true;
@@ -745,9 +884,9 @@ public class PlaywrightWrapper extends Reporter {
             // ===== END getByText handling =====
 
             // STEP 2: Locate element and prepare for interaction (existing flow)
-            System.out.println("Waiting For Locator");
+            TestLog.debug("Waiting For Locator");
             Locator el = getPage().locator(locator).first();
-            el.waitFor();
+            awaitActionable(el, locator);
             el.scrollIntoViewIfNeeded();
 
             // STEP 3: Intelligent link detection (existing flow)
@@ -763,38 +902,30 @@ public class PlaywrightWrapper extends Reporter {
                     return false;
                 }
                 String expected = href.startsWith("/") ? "**" + href : href;
-                System.out.println("Clicking the Locator " + locator);
+                TestLog.debug("Clicking the Locator {}", locator);
                 el.click();
 
                 // Wait for URL to change (existing behavior)
                 try {
                     getPage().waitForURL(expected);
-                    System.out.println("URL matched: " + expected);
+                    TestLog.info("URL matched: {}", expected);
                 } catch (PlaywrightException e) {
                     // If waitForURL fails, still attempt to wait for load state and continue — but log it
-                    System.out.println("Warning: waitForURL for expected '" + expected + "' failed: " + e.getMessage());
-                }
-
-                // CRITICAL: Wait for page to be fully loaded and stable
-                try {
-                    getPage().waitForLoadState(LoadState.NETWORKIDLE);
-                    System.out.println("Page network is idle - content loaded");
-                } catch (PlaywrightException ignored) {
-                    // Some apps never hit NETWORKIDLE; ignore to avoid hard failures
+                    TestLog.warn("Warning: waitForURL for expected '{}' failed: {}", expected, e.getMessage());
                 }
 
-                // Additional stability wait to ensure dynamic content is rendered
-                getPage().waitForTimeout(1000);
-                System.out.println("Stability wait completed");
+                // CRITICAL: Wait for page to be stable (returns as soon as it is, see SettleStrategy)
+                long settled = settle(settle);
+                TestLog.debug("Stability wait ({}) completed in {} ms", settle, settled);
 
                 reportStep("Clicked link '" + name + "' and URL matched: " + expected, "info");
                 return true;
             }
 
             // STEP 5: Execute button/default element behavior (existing flow)
-            System.out.println("Clicking the Locator " + locator);
+            TestLog.debug("Clicking the Locator {}", locator);
             el.click();
-            System.out.println("Button Click");
+            TestLog.debug("Button Click");
             reportStep("The Button name : " + name + " is clicked", "info");
             return true;
 
@@ -808,6 +939,64 @@ public class PlaywrightWrapper extends Reporter {
     }
 
 
+    /**
+     * Use this method to wait until the page is stable, the time taken is recorded per strategy.
+     *
+     * @param strategy How to decide that the page is stable (see {@link SettleStrategy})
+     * @return the time taken to settle in milliseconds
+     */
+    public long settle(SettleStrategy strategy) {
+        long start = System.nanoTime();
+        long maxMillis = ConfigurationManager.configuration().settleMaxMillis();
+        FlightEvents.Wait wait = FlightEvents.beginWait("settle " + strategy.name().toLowerCase(), null);
+        try {
+            switch (strategy) {
+                case URL_COMMIT:
+                    getPage().waitForLoadState(LoadState.DOMCONTENTLOADED, new Page.WaitForLoadStateOptions().setTimeout(maxMillis));
+                    break;
+                case DOM_QUIET:
+                    waitForDomQuiet(ConfigurationManager.configuration().settleQuietMillis(), maxMillis);
+                    break;
+                case NETWORK_IDLE:
+                    getPage().waitForLoadState(LoadState.NETWORKIDLE, new Page.WaitForLoadStateOptions().setTimeout(maxMillis));
+                    break;
+                default:
+                    break;
+            }
+        } catch (PlaywrightException ignored) {
+            // Some apps never settle (polling, streaming); the cap is reached and the step continues
+        } finally {
+            FlightEvents.endWait(wait, maxMillis);
+        }
+        long settled = (System.nanoTime() - start) / 1_000_000;
+        String key = "settle." + strategy.name().toLowerCase();
+        RunStats.increment(key + ".count");
+        RunStats.add(key + ".ms", settled);
+        return settled;
+    }
+
+    /**
+     * Resolves once the DOM had no mutation for quietMillis (or maxMillis elapsed), observed inside the page.
+     * A navigation destroys the observer, in that case it waits for the new document and observes again.
+     */
+    private void waitForDomQuiet(long quietMillis, long maxMillis) {
+        String script = "([quietMs, maxMs]) => new Promise(resolve => {"
+                + " let quietTimer, capTimer;"
+                + " const observer = new MutationObserver(() => { clearTimeout(quietTimer); quietTimer = setTimeout(done, quietMs); });"
+                + " function done() { observer.disconnect(); clearTimeout(quietTimer); clearTimeout(capTimer); resolve(true); }"
+                + " observer.observe(document, { subtree: true, childList: true, attributes: true, characterData: true });"
+                + " quietTimer = setTimeout(done, quietMs);"
+                + " capTimer = setTimeout(done, maxMs);"
+                + " })";
+        try {
+            getPage().evaluate(script, Arrays.asList(quietMillis, maxMillis));
+        } catch (PlaywrightException navigated) {
+            ActionSpan.retry();
+            getPage().waitForLoadState(LoadState.DOMCONTENTLOADED, new Page.WaitForLoadStateOptions().setTimeout(maxMillis));
+            getPage().evaluate(script, Arrays.asList(quietMillis, maxMillis));
+        }
+    }
+
     /**
      * Use this method to click a Random Place in the Screen.
      *
@@ -815,6 +1004,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean randomDoubleClick() {
+        return span("randomDoubleClick", null, () -> randomDoubleClickAction());
+    }
+
+    private boolean randomDoubleClickAction() {
         try {
             getPage().setDefaultTimeout(ConfigurationManager.configuration().timeout());
             int width = getPage().viewportSize().width;
@@ -839,6 +1032,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public void scrollUsingJS(String locator) {
+        runSpan("scrollUsingJS", locator, () -> scrollUsingJSAction(locator));
+    }
+
+    private void scrollUsingJSAction(String locator) {
         try {
             getPage().setDefaultTimeout(ConfigurationManager.configuration().timeout());
             Locator jsElement = getPage().locator(locator);
@@ -857,6 +1054,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public void scrollUsingMouseWheelVertically(String locator) {
+        runSpan("scrollUsingMouseWheelVertically", locator, () -> scrollUsingMouseWheelVerticallyAction(locator));
+    }
+
+    private void scrollUsingMouseWheelVerticallyAction(String locator) {
         try {
             getPage().setDefaultTimeout(ConfigurationManager.configuration().timeout());
 
@@ -874,6 +1075,10 @@ public class PlaywrightWrapper extends Reporter {
     }
 
     public boolean clickAndType(String locator, String typeValue, String name) {
+        return span("clickAndType", locator, () -> clickAndTypeAction(locator, typeValue, name));
+    }
+
+    private boolean clickAndTypeAction(String locator, String typeValue, String name) {
         try {
             getPage().setDefaultTimeout(ConfigurationManager.configuration().timeout());
             getPage().locator(locator).click();
@@ -889,6 +1094,10 @@ public class PlaywrightWrapper extends Reporter {
     }
 
     public void scrollToElement(String locator) {
+        runSpan("scrollToElement", locator, () -> scrollToElementAction(locator));
+    }
+
+    private void scrollToElementAction(String locator) {
         getPage().setDefaultTimeout(ConfigurationManager.configuration().timeout());
         getPage().locator(locator).waitFor();
         getPage().locator(locator).scrollIntoViewIfNeeded();
@@ -905,6 +1114,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean click(String locator, String name, String type) {
+        return span("click", locator, () -> clickAction(locator, name, type));
+    }
+
+    private boolean clickAction(String locator, String name, String type) {
         try {
             getPage().setDefaultTimeout(ConfigurationManager.configuration().timeout());
             getPage().locator(locator).scrollIntoViewIfNeeded();
@@ -918,6 +1131,10 @@ public class PlaywrightWrapper extends Reporter {
 
     }
     public boolean clickLink(String locator, String name) {
+        return span("clickLink", locator, () -> clickLinkAction(locator, name));
+    }
+
+    private boolean clickLinkAction(String locator, String name) {
         try {
             getPage().setDefaultTimeout(ConfigurationManager.configuration().timeout());
 
@@ -941,7 +1158,7 @@ public class PlaywrightWrapper extends Reporter {
             // Safer for SPAs or either case: wait for URL pattern after click
             a.click();
             getPage().waitForURL(expected);
-            System.out.println("Clicked link '" + name + "' and URL matched: " + expected);
+            TestLog.info("Clicked link '{}' and URL matched: {}", name, expected);
             reportStep("Clicked link '" + name + "' and URL matched: " + expected, "info");
             return true;
         } catch (PlaywrightException e) {
@@ -952,6 +1169,10 @@ public class PlaywrightWrapper extends Reporter {
 
 
     public void clickUsingJs(String locator) {
+        runSpan("clickUsingJs", locator, () -> clickUsingJsAction(locator));
+    }
+
+    private void clickUsingJsAction(String locator) {
         getPage().evaluate("() => { " + "const element = document.evaluate(\"" + locator + "\", document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue; " + "if (element) { " + "element.scrollIntoView(); " + "element.click(); " + "} " + "}");
 
     }
@@ -966,6 +1187,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean doubleClick(String locator, String name, String type) {
+        return span("doubleClick", locator, () -> doubleClickAction(locator, name, type));
+    }
+
+    private boolean doubleClickAction(String locator, String name, String type) {
         try {
             getPage().setDefaultTimeout(ConfigurationManager.configuration().timeout());
             getPage().locator(locator).scrollIntoViewIfNeeded();
@@ -989,6 +1214,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean clickInFrame(String locator, String name) {
+        return span("clickInFrame", locator, () -> clickInFrameAction(locator, name));
+    }
+
+    private boolean clickInFrameAction(String locator, String name) {
         try {
             getFrameLocator().locator(locator).scrollIntoViewIfNeeded();
             getFrameLocator().locator(locator).click();
@@ -1010,6 +1239,10 @@ public class PlaywrightWrapper extends Reporter {
      * @return true if navigation successful, false otherwise
      */
     public boolean clickLinkByHref(String linkSelector, String name) {
+        return span("clickLinkByHref", linkSelector, () -> clickLinkByHrefAction(linkSelector, name));
+    }
+
+    private boolean clickLinkByHrefAction(String linkSelector, String name) {
         try {
             getPage().setDefaultTimeout(ConfigurationManager.configuration().timeout());
 
@@ -1051,6 +1284,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean check(String locator, String name) {
+        return span("check", locator, () -> checkAction(locator, name));
+    }
+
+    private boolean checkAction(String locator, String name) {
         try {
             getPage().locator(locator).check();
             reportStep("The checkbox: " + name + " is checked", "info");
@@ -1071,9 +1308,13 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean selectByText(String locator, String text, String name) {
+        return span("selectByText", locator, () -> selectByTextAction(locator, text, name));
+    }
+
+    private boolean selectByTextAction(String locator, String text, String name) {
         try {
             getPage().locator(locator).selectOption(new SelectOption().setLabel(text));
-            System.out.println("The drop down : " + name + " is selected with value : " + text);
+            TestLog.info("The drop down : {} is selected with value : {}", name, text);
             reportStep("The drop down : " + name + " is selected with value : " + text, "info");
             return true;
         } catch (PlaywrightException e) {
@@ -1093,6 +1334,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean highlightElement(String locator, String name) {
+        return span("highlightElement", locator, () -> highlightElementAction(locator, name));
+    }
+
+    private boolean highlightElementAction(String locator, String name) {
         try {
             Locator element = getPage().locator(locator);
             getPage().evaluate("element => element.setAttribute('style', 'border: 2px solid red; background: yellow;')", element);
@@ -1139,15 +1384,21 @@ public class PlaywrightWrapper extends Reporter {
     //     }
     // }
     public boolean selectoption(String ddLocator, String value, String name) {
+        return span("selectoption", ddLocator, () -> selectoptionAction(ddLocator, value, name));
+    }
+
+    private boolean selectoptionAction(String ddLocator, String value, String name) {
         try {
             Locator dropdown = getPage().locator(ddLocator);
+            // attached only: the native select may be hidden behind a custom widget
+            awaitActionable(dropdown, ddLocator, WaitForSelectorState.ATTACHED);
 
             // Check if it's a native <select> dropdown
             boolean isNative = (Boolean) dropdown.evaluate("el => el.tagName === 'SELECT'");
 
             if (isNative) {
                 dropdown.selectOption(new SelectOption().setLabel(value));
-                System.out.println("Selected native select with "+dropdown+"value: "+value);
+                TestLog.debug("Selected native select with {}value: {}", dropdown, value);
             } else {
                 dropdown.click();
                 pause("low");
@@ -1163,7 +1414,7 @@ public class PlaywrightWrapper extends Reporter {
 
                 matchingOption.click();
             }
-            System.out.println("Dropdown" + name + "set to" + value);
+            TestLog.info("Dropdown{}set to{}", name, value);
             reportStep(String.format("Dropdown '%s' set to '%s'", name, value), "info");
             return true;
 
@@ -1189,6 +1440,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean selectByValue(String locator, String value, String name) {
+        return span("selectByValue", locator, () -> selectByValueAction(locator, value, name));
+    }
+
+    private boolean selectByValueAction(String locator, String value, String name) {
         try {
             getPage().locator(locator).selectOption(value);
             reportStep("The drop down : " + name + " is selected with value index as : " + value, "info");
@@ -1211,6 +1466,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean selectByIndex(String locatorId, int index, String name) {
+        return span("selectByIndex", locatorId, () -> selectByIndexAction(locatorId, index, name));
+    }
+
+    private boolean selectByIndexAction(String locatorId, int index, String name) {
         try {
             Locator locator = getPage().locator(locatorId + " > option");
             if (index > locator.count() || index < 0)
@@ -1236,6 +1495,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean selectByIndexInFrame(String locatorId, int index, String name) {
+        return span("selectByIndexInFrame", locatorId, () -> selectByIndexInFrameAction(locatorId, index, name));
+    }
+
+    private boolean selectByIndexInFrameAction(String locatorId, int index, String name) {
         try {
             Locator locator = getFrameLocator().locator(locatorId + " > option");
             if (index > locator.count() || index < 0)
@@ -1259,6 +1522,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean selectByRandomIndex(String locator, String name) {
+        return span("selectByRandomIndex", locator, () -> selectByRandomIndexAction(locator, name));
+    }
+
+    private boolean selectByRandomIndexAction(String locator, String name) {
         return selectByIndex(locator, -1, name);
     }
 
@@ -1273,6 +1540,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean clickAndType(String ddLocator, String optionLocator, String option, String name) {
+        return span("clickAndType", ddLocator, () -> clickAndTypeAction(ddLocator, optionLocator, option, name));
+    }
+
+    private boolean clickAndTypeAction(String ddLocator, String optionLocator, String option, String name) {
         try {
             getPage().locator(ddLocator).click();
             getPage().locator(optionLocator).fill(option);
@@ -1296,6 +1567,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean clickAndChoose(String ddLocator, String optionLocator, String option, String name) {
+        return span("clickAndChoose", ddLocator, () -> clickAndChooseAction(ddLocator, optionLocator, option, name));
+    }
+
+    private boolean clickAndChooseAction(String ddLocator, String optionLocator, String option, String name) {
         try {
             getPage().locator(ddLocator).click();
             pause("low");
@@ -1320,6 +1595,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean clickAndChooseInFrame(String ddLocator, String optionLocator, String option, String name) {
+        return span("clickAndChooseInFrame", ddLocator, () -> clickAndChooseInFrameAction(ddLocator, optionLocator, option, name));
+    }
+
+    private boolean clickAndChooseInFrameAction(String ddLocator, String optionLocator, String option, String name) {
         try {
             getFrameLocator().locator(ddLocator).click();
             getFrameLocator().locator(optionLocator).click();
@@ -1341,6 +1620,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean mouseOver(String locator, String name) {
+        return span("mouseOver", locator, () -> mouseOverAction(locator, name));
+    }
+
+    private boolean mouseOverAction(String locator, String name) {
         try {
             getPage().locator(locator).hover();
             reportStep("The element : " + name + " is moused over successfully", "info");
@@ -1353,6 +1636,10 @@ public class PlaywrightWrapper extends Reporter {
     }
 
     public boolean mouseDown() {
+        return span("mouseDown", null, () -> mouseDownAction());
+    }
+
+    private boolean mouseDownAction() {
         try {
             getPage().mouse().wheel(0, 200);
             reportStep("Move mouse down", "info");
@@ -1373,6 +1660,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public String getInnerText(String locator) {
+        return span("getInnerText", locator, () -> getInnerTextAction(locator));
+    }
+
+    private String getInnerTextAction(String locator) {
         try {
             return getPage().locator(locator).innerText();
         } catch (Exception e) {
@@ -1389,6 +1680,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean isEnabled(String locator, String name) {
+        return span("isEnabled", locator, () -> isEnabledAction(locator, name));
+    }
+
+    private boolean isEnabledAction(String locator, String name) {
         boolean bEnabled = false;
         try {
             getPage().setDefaultTimeout(ConfigurationManager.configuration().timeout());
@@ -1412,6 +1707,10 @@ public class PlaywrightWrapper extends Reporter {
      */
 
     public boolean isDisabled(String locator, String name) {
+        return span("isDisabled", locator, () -> isDisabledAction(locator, name));
+    }
+
+    private boolean isDisabledAction(String locator, String name) {
         boolean bEnabled = false;
         try {
             getPage().setDefaultTimeout(ConfigurationManager.configuration().timeout());
@@ -1435,6 +1734,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean isEditable(String locator, String elementName) {
+        return span("isEditable", locator, () -> isEditableAction(locator, elementName));
+    }
+
+    private boolean isEditableAction(String locator, String elementName) {
         boolean bEditable = false;
         try {
             waitForAppearance(locator);
@@ -1461,6 +1764,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean verifyDisabled(String locator, String label) {
+        return span("verifyDisabled", locator, () -> verifyDisabledAction(locator, label));
+    }
+
+    private boolean verifyDisabledAction(String locator, String label) {
         try {
             if (isDisabled(locator, label)) reportStep("The element : " + label + " is disabled as expected", "info");
             else reportStep("The element : " + label + " is enabled", "warning");
@@ -1476,6 +1783,10 @@ public class PlaywrightWrapper extends Reporter {
      * @param label   - Name of the element
      */
     public void verifyAttributeIsNotEmpty(String locator, String attribute, String label) {
+        runSpan("verifyAttributeIsNotEmpty", locator, () -> verifyAttributeIsNotEmptyAction(locator, attribute, label));
+    }
+
+    private void verifyAttributeIsNotEmptyAction(String locator, String attribute, String label) {
         try {
             String getValue = getAttribute(locator, attribute);
             if (getValue.isEmpty() || getValue.equals(" "))
@@ -1529,6 +1840,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean verifyTitle(String title) {
+        return span("verifyTitle", title, () -> verifyTitleAction(title));
+    }
+
+    private boolean verifyTitleAction(String title) {
         try {
             if (getPage().title().contains(title)) {
                 reportStep("The page with title : " + title + " displayed as expected", "info");
@@ -1609,6 +1924,10 @@ public class PlaywrightWrapper extends Reporter {
     //}
 
     public boolean verifyExactText(String locator, String expectedText) {
+        return span("verifyExactText", locator, () -> verifyExactTextAction(locator, expectedText));
+    }
+
+    private boolean verifyExactTextAction(String locator, String expectedText) {
         final String expected = expectedText == null ? "" : expectedText.trim();
 
         try {
@@ -1618,7 +1937,7 @@ public class PlaywrightWrapper extends Reporter {
             try {
                 String now = el.innerText().trim();
                 if (now.equals(expected)) {
-                    System.out.println("The element with text : " + expected + " displayed as expected");
+                    TestLog.info("The element with text : {} displayed as expected", expected);
                     reportStep("The element with text : " + expected + " displayed as expected", "pass");
                     return true;
                 }
@@ -1628,12 +1947,10 @@ public class PlaywrightWrapper extends Reporter {
 
             // --- SHORT WAIT for visible (3s), then re-check ---
             try {
-                el.waitFor(new Locator.WaitForOptions()
-                        .setState(WaitForSelectorState.VISIBLE)
-                        .setTimeout(3000)); // <= short, targeted wait
+                awaitVisible(el, locator, 3000); // <= short, targeted wait
                 String actual = el.innerText().trim();
                 if (actual.equals(expected)) {
-                    System.out.println("The element with text : " + expected + " displayed as expected (fallback getByText)");
+                    TestLog.info("The element with text : {} displayed as expected (fallback getByText)", expected);
                     reportStep("The element with text : " + expected + " displayed as expected (fallback getByText)", "pass");
                     return true;
                 }
@@ -1645,12 +1962,10 @@ public class PlaywrightWrapper extends Reporter {
             try {
                 Page page = getPage();
                 Locator exact = page.getByText(expected, new Page.GetByTextOptions().setExact(true)).first();
-                exact.waitFor(new Locator.WaitForOptions()
-                        .setState(WaitForSelectorState.VISIBLE)
-                        .setTimeout(2000)); // <= smaller timeout so it won't drag
+                awaitVisible(exact, "text=" + expected, 2000); // <= smaller timeout so it won't drag
                 String fallback = exact.innerText().trim();
                 if (fallback.equals(expected)) {
-                    System.out.println("The element with text : " + expected + " displayed as expected");
+                    TestLog.info("The element with text : {} displayed as expected", expected);
                     reportStep("The element with text : " + expected + " displayed as expected", "pass");
                     return true;
                 }
@@ -1685,6 +2000,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean verifyPartialText(String locator, String expectedText) {
+        return span("verifyPartialText", locator, () -> verifyPartialTextAction(locator, expectedText));
+    }
+
+    private boolean verifyPartialTextAction(String locator, String expectedText) {
         try {
             if (getPage().locator(locator).innerText().contains(expectedText)) {
                 reportStep("The element with text : " + expectedText + " displayed as expected", "pass");
@@ -1705,6 +2024,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public String getCurrentURL(String pageName) {
+        return span("getCurrentURL", null, () -> getCurrentURLAction(pageName));
+    }
+
+    private String getCurrentURLAction(String pageName) {
         String url = null;
         try {
             url = getPage().url();
@@ -1723,6 +2046,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public String getInputText(String locator) {
+        return span("getInputText", locator, () -> getInputTextAction(locator));
+    }
+
+    private String getInputTextAction(String locator) {
         try {
             return getPage().locator(locator).inputValue();
         } catch (PlaywrightException e) {
@@ -1739,6 +2066,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public int getLocatorsCount(String locator) {
+        return span("getLocatorsCount", locator, () -> getLocatorsCountAction(locator));
+    }
+
+    private int getLocatorsCountAction(String locator) {
         Locator locators = null;
         try {
             locators = getPage().locator(locator);
@@ -1789,6 +2120,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean verifyInputText(String locator, String expectedText) {
+        return span("verifyInputText", locator, () -> verifyInputTextAction(locator, expectedText));
+    }
+
+    private boolean verifyInputTextAction(String locator, String expectedText) {
         try {
             if (getPage().locator(locator).inputValue().contains(expectedText)) {
                 reportStep("The element with text : " + expectedText + " displayed as expected", "pass");
@@ -1811,6 +2146,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean verifyInnerText(String actual, String expectedText) {
+        return span("verifyInnerText", actual, () -> verifyInnerTextAction(actual, expectedText));
+    }
+
+    private boolean verifyInnerTextAction(String actual, String expectedText) {
         try {
             if (actual.contains(expectedText)) {
                 reportStep("The actual value '" + actual + "' is matched with expected value '" + expectedText + "'", "pass");
@@ -1835,6 +2174,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public String getAttribute(String locator, String attribute) {
+        return span("getAttribute", locator, () -> getAttributeAction(locator, attribute));
+    }
+
+    private String getAttributeAction(String locator, String attribute) {
         try {
             return getPage().locator(locator).getAttribute(attribute);
         } catch (PlaywrightException e) {
@@ -1852,6 +2195,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean verifyAttribute(String locator, String attribute, String expectedText) {
+        return span("verifyAttribute", locator, () -> verifyAttributeAction(locator, attribute, expectedText));
+    }
+
+    private boolean verifyAttributeAction(String locator, String attribute, String expectedText) {
         try {
             if (getPage().locator(locator).getAttribute(attribute).equalsIgnoreCase(expectedText)) {
                 reportStep("The element with text : " + expectedText + " displayed as expected", "pass");
@@ -1916,6 +2263,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean verifyAttributeInFrame(String locator, String attribute, String expectedText) {
+        return span("verifyAttributeInFrame", locator, () -> verifyAttributeInFrameAction(locator, attribute, expectedText));
+    }
+
+    private boolean verifyAttributeInFrameAction(String locator, String attribute, String expectedText) {
         try {
             if (getFrameLocator().locator(locator).getAttribute(attribute).contains(expectedText)) {
                 reportStep("The element with text : " + expectedText + " displayed as expected", "pass");
@@ -1944,14 +2295,18 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean verifyDisplayed(String locator, String name) {
+        return span("verifyDisplayed", locator, () -> verifyDisplayedAction(locator, name));
+    }
+
+    private boolean verifyDisplayedAction(String locator, String name) {
         try {
             if (getPage().locator(locator).isVisible()) {
-                System.out.println("Element is Visible, Locator: "+locator);
+                TestLog.debug("Element is Visible, Locator: {}", locator);
                 return reportVisibleSuccess(locator, name);
             } else {
                 pause("medium");
                 if (getPage().isVisible(locator)) {
-                    System.out.println("Element is Visible, Locator: "+locator);
+                    TestLog.debug("Element is Visible, Locator: {}", locator);
                     return reportVisibleSuccess(locator, name);
                 }
             }
@@ -1959,7 +2314,7 @@ public class PlaywrightWrapper extends Reporter {
             reportStep("PlaywrightException : \n" + e.getMessage(), "fail");
         }
         if (!getPage().isVisible(locator))
-            System.out.println("Element is Not Visible Visible");
+            TestLog.warn("Element is Not Visible Visible");
         reportStep("The element :" + name + " is not visible in the page", "warning");
         return false;
     }
@@ -1973,6 +2328,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public boolean verifyNotDisplayed(String locator, String name) {
+        return span("verifyNotDisplayed", locator, () -> verifyNotDisplayedAction(locator, name));
+    }
+
+    private boolean verifyNotDisplayedAction(String locator, String name) {
         try {
             if (!getPage().locator(locator).isVisible()) {
                 reportStep("The element : " + name + " is not displayed as expected", "pass");
@@ -1998,25 +2357,185 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public void pause(String type) {
-        try {
-            switch (type.toLowerCase()) {
-                case "low":
-                    Thread.sleep(ConfigurationManager.configuration().pauseLow());
-                    break;
-                case "medium":
-                    Thread.sleep(ConfigurationManager.configuration().pauseMedium());
-                    break;
-                case "high":
-                    Thread.sleep(ConfigurationManager.configuration().pauseHigh());
-                    break;
-                default:
-                    Thread.sleep(ConfigurationManager.configuration().pauseLow());
-                    break;
-            }
+        long millis;
+        switch (type == null ? "" : type.toLowerCase()) {
+            case "medium":
+                millis = ConfigurationManager.configuration().pauseMedium();
+                break;
+            case "high":
+                millis = ConfigurationManager.configuration().pauseHigh();
+                break;
+            default:
+                millis = ConfigurationManager.configuration().pauseLow();
+                break;
+        }
+        FlightEvents.Wait wait = FlightEvents.beginWait("sleep", type);
+        try {
+            Thread.sleep(millis);
         } catch (Exception e) {
+        } finally {
+            FlightEvents.endWait(wait, millis);
+        }
+    }
+
+
+    /**
+     * Use this method to wait for the element state instead of a fixed sleep.
+     * Returns as soon as the element is in the state and records the time saved against the sleep it replaces.
+     *
+     * @param locator       The locator to identify the element
+     * @param state         The expected state (visible, hidden, attached, detached)
+     * @param budgetMillis  The sleep this wait replaces (used for the savings report)
+     * @return true if the element reached the state within the timeout else false
+     */
+    public boolean waitForElement(String locator, WaitForSelectorState state, long budgetMillis) {
+        FlightEvents.Wait wait = FlightEvents.beginWait("element " + state.name().toLowerCase(), locator);
+        long start = System.nanoTime();
+        try {
+            Locator element = getPage().locator(locator).first();
+            LocatorTimeouts.await(latencyKey(locator, state), ConfigurationManager.configuration().timeout(),
+                    timeout -> element.waitFor(new Locator.WaitForOptions().setState(state).setTimeout(timeout)));
+            return true;
+        } catch (PlaywrightException e) {
+            TestLog.warn("Wait for '{}' to be {} failed: {}", locator, state, e.getMessage());
+            return false;
+        } finally {
+            recordWait(start, budgetMillis, wait);
+        }
+    }
+
+    /**
+     * Use this method to wait until the element is visible instead of a fixed sleep.
+     *
+     * @param locator       The locator to identify the element
+     * @param budgetMillis  The sleep this wait replaces (used for the savings report)
+     * @return true if the element is visible within the timeout else false
+     */
+    public boolean waitForVisible(String locator, long budgetMillis) {
+        return waitForElement(locator, WaitForSelectorState.VISIBLE, budgetMillis);
+    }
+
+    /**
+     * Use this method to wait until the current URL contains the given fragment instead of a fixed sleep.
+     *
+     * @param fragment      The text expected in the URL
+     * @param budgetMillis  The sleep this wait replaces (used for the savings report)
+     * @return true if the URL matched within the timeout else false
+     */
+    public boolean waitForUrl(String fragment, long budgetMillis) {
+        FlightEvents.Wait wait = FlightEvents.beginWait("url", fragment);
+        long start = System.nanoTime();
+        try {
+            getPage().waitForURL(url -> url.contains(fragment), new Page.WaitForURLOptions()
+                    .setTimeout(ConfigurationManager.configuration().timeout()));
+            return true;
+        } catch (PlaywrightException e) {
+            TestLog.warn("Wait for URL containing '{}' failed: {}", fragment, e.getMessage());
+            return false;
+        } finally {
+            recordWait(start, budgetMillis, wait);
+        }
+    }
+
+    /**
+     * Use this method to wait for the network to be quiet instead of a fixed sleep.
+     * The wait never takes longer than the sleep it replaces, as polling pages may never reach network idle.
+     *
+     * @param budgetMillis  The sleep this wait replaces (also the maximum wait)
+     * @return true if the network went idle within the budget else false
+     */
+    public boolean waitForNetworkQuiet(long budgetMillis) {
+        FlightEvents.Wait wait = FlightEvents.beginWait("network", null);
+        long start = System.nanoTime();
+        try {
+            getPage().waitForLoadState(LoadState.NETWORKIDLE, new Page.WaitForLoadStateOptions().setTimeout(budgetMillis));
+            return true;
+        } catch (PlaywrightException e) {
+            return false;
+        } finally {
+            recordWait(start, budgetMillis, wait);
         }
     }
 
+    /**
+     * Use this method to wait for a custom condition instead of a fixed sleep.
+     *
+     * @param description   What is awaited (for the logs)
+     * @param condition     Evaluated until it returns true
+     * @param budgetMillis  The sleep this wait replaces (used for the savings report)
+     * @return true if the condition held within the timeout else false
+     */
+    public boolean waitUntil(String description, BooleanSupplier condition, long budgetMillis) {
+        FlightEvents.Wait wait = FlightEvents.beginWait("condition", description);
+        long start = System.nanoTime();
+        try {
+            getPage().waitForCondition(condition, new Page.WaitForConditionOptions()
+                    .setTimeout(ConfigurationManager.configuration().timeout()));
+            return true;
+        } catch (PlaywrightException e) {
+            TestLog.warn("Wait until '{}' failed: {}", description, e.getMessage());
+            return false;
+        } finally {
+            recordWait(start, budgetMillis, wait);
+        }
+    }
+
+    /**
+     * Use this method to wait until the element is visible within the learned timeout of its locator
+     * (see LocatorTimeouts, retried with the rest of the fixed timeout) and to record the observed latency
+     * for the next waits.
+     *
+     * @param element The element to wait for
+     * @param locator The locator the element was built from (the key of the learned timeout)
+     */
+    protected void awaitActionable(Locator element, String locator) {
+        awaitActionable(element, locator, WaitForSelectorState.VISIBLE);
+    }
+
+    /**
+     * Same as above for the given state, ATTACHED for the elements the action does not need visible
+     * (a native select hidden behind a custom widget still takes selectOption)
+     */
+    protected void awaitActionable(Locator element, String locator, WaitForSelectorState state) {
+        double timeout = ConfigurationManager.configuration().timeout();
+        FlightEvents.Wait wait = FlightEvents.beginWait("actionable", locator);
+        try {
+            LocatorTimeouts.await(latencyKey(locator, state), timeout,
+                    t -> element.waitFor(new Locator.WaitForOptions().setState(state).setTimeout(t)));
+        } finally {
+            FlightEvents.endWait(wait, (long) timeout);
+        }
+    }
+
+    /**
+     * @return the key of the latency history of the locator on the current page in the given state
+     */
+    private String latencyKey(String locator, WaitForSelectorState state) {
+        return LocatorTimeouts.key(getPage().url(), state.name().toLowerCase(), locator);
+    }
+
+    /**
+     * Waits (at most timeoutMillis) until the element is visible, recorded as a wait of the flight recording
+     */
+    private void awaitVisible(Locator element, String target, long timeoutMillis) {
+        FlightEvents.Wait wait = FlightEvents.beginWait("visible", target);
+        try {
+            element.waitFor(new Locator.WaitForOptions()
+                    .setState(WaitForSelectorState.VISIBLE)
+                    .setTimeout(timeoutMillis));
+        } finally {
+            FlightEvents.endWait(wait, timeoutMillis);
+        }
+    }
+
+    private void recordWait(long startNanos, long budgetMillis, FlightEvents.Wait wait) {
+        FlightEvents.endWait(wait, budgetMillis);
+        long waited = (System.nanoTime() - startNanos) / 1_000_000;
+        RunStats.increment(WAIT_COUNT);
+        RunStats.add(WAIT_MS, waited);
+        RunStats.add(WAIT_SLEEP_BUDGET_MS, budgetMillis);
+        RunStats.add(WAIT_SAVED_MS, budgetMillis - waited);
+    }
 
     /**
      * Use this method to reload the page
@@ -2025,6 +2544,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public void reLoadPage() {
+        runSpan("reLoadPage", null, () -> reLoadPageAction());
+    }
+
+    private void reLoadPageAction() {
         getPage().reload();
     }
 
@@ -2034,6 +2557,10 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public void uploadFile() {
+        runSpan("uploadFile", null, () -> uploadFileAction());
+    }
+
+    private void uploadFileAction() {
         try {
             getPage().setInputFiles("input[type='file']", Path.of(attachment));
             waitForAppearance("//img[@data-testid='preview-thumbnail']");
@@ -2044,6 +2571,10 @@ public class PlaywrightWrapper extends Reporter {
     }
 
     public void uploadFile(String fileName) {
+        runSpan("uploadFile", null, () -> uploadFileAction(fileName));
+    }
+
+    private void uploadFileAction(String fileName) {
         try {
             getPage().setInputFiles("input[type='file']", Path.of("./src/test/resources/upload/" + fileName));
             /*waitForAppearance("//img[@data-testid='preview-thumbnail']");*/
@@ -2055,6 +2586,10 @@ public class PlaywrightWrapper extends Reporter {
     }
 
     public void importBudgetFile(String fileName) {
+        runSpan("importBudgetFile", null, () -> importBudgetFileAction(fileName));
+    }
+
+    private void importBudgetFileAction(String fileName) {
         try {
             getPage().setInputFiles("input[type='file']", Path.of("./src/test/resources/Import/" + fileName));
             /*waitForAppearance("//img[@data-testid='preview-thumbnail']");*/
@@ -2071,7 +2606,13 @@ public class PlaywrightWrapper extends Reporter {
      * @author Srikanth
      */
     public void waitForElementToLoad(String locator) {
-        getPage().waitForSelector(locator, new Page.WaitForSelectorOptions().setTimeout(timeOut));
+        FlightEvents.Wait wait = FlightEvents.beginWait("selector", locator);
+        try {
+            LocatorTimeouts.await(latencyKey(locator, WaitForSelectorState.VISIBLE), timeOut,
+                    timeout -> getPage().waitForSelector(locator, new Page.WaitForSelectorOptions().setTimeout(timeout)));
+        } finally {
+            FlightEvents.endWait(wait, (long) timeOut);
+        }
     }
 
     /**
@@ -2102,7 +2643,7 @@ public class PlaywrightWrapper extends Reporter {
             Date inputDate = inputDateFormat.parse(date);
             outputDate = outputDateFormat.format(inputDate);
         } catch (ParseException e) {
-            System.out.println("Error parsing the date: " + e.getMessage());
+            TestLog.warn("Error parsing the date: {}", e.getMessage());
         }
         return outputDate;
     }
@@ -2116,7 +2657,7 @@ public class PlaywrightWrapper extends Reporter {
     public static double getDoubleRoundedValue(double value) {
         String roundedValue = String.format("%.2f", value);
         double roundedDouble = Double.parseDouble(roundedValue);
-        System.out.println("Rounded value: " + roundedDouble);
+        TestLog.debug("Rounded value: {}", roundedDouble);
 
         return roundedDouble;
     }
@@ -2257,26 +2798,141 @@ public class PlaywrightWrapper extends Reporter {
     }
 
     private int parseColumnIndex(String headerOrIndex, List<String> headers) {
-        if (headerOrIndex == null) return -1;
-        String trimmed = headerOrIndex.trim();
-        // numeric? treat as 1-based index
+        return TableSnapshot.columnIndex(headerOrIndex, headers);
+    }
+
+    private boolean match(String actual, String expected, String matchType) {
+        return TableSnapshot.matches(actual, expected, matchType);
+    }
+
+    /**
+     * Waits for the first visible table among the candidate selectors, reports a failure when there is none.
+     * The candidates are raced in one wait (an or() chain of their visible matches) and the winner is cached
+     * per page and table name, so the next lookup of the same table goes straight to it.
+     *
+     * @return the table or null when no selector resolved to a visible table
+     */
+    private Locator findVisibleTable(List<String> tableSelectors, String tableName, String caller) {
+        final long perSelTimeout = Math.max(1000, ConfigurationManager.configuration().pauseMedium());
+        List<String> selectors = new ArrayList<>();
+        for (String raw : tableSelectors) {
+            String sel = normalizeSelector(raw);
+            if (!sel.isEmpty()) selectors.add(sel);
+        }
+        if (selectors.isEmpty()) {
+            reportFail("No table selector given for table '" + tableName + "'");
+            return null;
+        }
+
+        String cacheKey = tableCacheKey(tableName);
+        String cached = winningTableSelectors.get(cacheKey);
+        if (cached != null && selectors.contains(cached)) {
+            try {
+                Locator table = visibleMatch(cached);
+                LocatorTimeouts.await(latencyKey(cached, WaitForSelectorState.VISIBLE), perSelTimeout,
+                        timeout -> table.waitFor(new Locator.WaitForOptions().setTimeout(timeout).setState(WaitForSelectorState.VISIBLE)));
+                RunStats.increment(TABLE_SELECTOR_CACHE_HIT);
+                TestLog.info("[{}] ✅ Visible table found by cached selector: {}", caller, cached);
+                return table;
+            } catch (PlaywrightException e) {
+                TestLog.warn("[{}] Cached selector failed: {} | reason: {}", caller, cached, e.getMessage());
+                ActionSpan.retry();
+                winningTableSelectors.remove(cacheKey);
+            }
+        }
+        RunStats.increment(TABLE_SELECTOR_CACHE_MISS);
+
+        TestLog.debug("[{}] Racing selectors: {}", caller, selectors);
+        Locator race = visibleMatch(selectors.get(0));
+        double raceTimeout = 0;
+        for (int i = 0; i < selectors.size(); i++) {
+            if (i > 0) race = race.or(visibleMatch(selectors.get(i)));
+            raceTimeout = Math.max(raceTimeout, LocatorTimeouts.timeoutFor(latencyKey(selectors.get(i), WaitForSelectorState.VISIBLE), perSelTimeout));
+        }
+        Locator racing = race.first();
+
+        PlaywrightException lastErr;
         try {
-            int asNum = Integer.parseInt(trimmed);
-            return (asNum >= 1 && asNum <= headers.size()) ? (asNum - 1) : -1;
-        } catch (NumberFormatException ignore) { /* not a number */ }
-        // match by header text (case-insensitive, trimmed)
-        String wanted = trimmed.toLowerCase();
-        for (int i = 0; i < headers.size(); i++) {
-            if (headers.get(i).trim().toLowerCase().equals(wanted)) return i;
+            long latency = LocatorTimeouts.await(raceTimeout, perSelTimeout,
+                    timeout -> racing.waitFor(new Locator.WaitForOptions().setTimeout(timeout).setState(WaitForSelectorState.VISIBLE)));
+            // the first candidate (in the given order) that has a visible match wins
+            for (String sel : selectors) {
+                if (visibleMatch(sel).count() > 0) {
+                    LocatorTimeouts.record(latencyKey(sel, WaitForSelectorState.VISIBLE), latency);
+                    winningTableSelectors.put(cacheKey, sel);
+                    TestLog.info("[{}] ✅ Visible table found by: {}", caller, sel);
+                    return visibleMatch(sel);
+                }
+            }
+            lastErr = new PlaywrightException("the table disappeared before its selector could be resolved");
+        } catch (TimeoutError e) {
+            lastErr = e;
+        } catch (PlaywrightException e) {
+            // an invalid candidate breaks the whole chain, probe them one by one instead
+            TestLog.warn("[{}] Race failed: {} | probing the selectors one by one", caller, e.getMessage());
+            ActionSpan.retry();
+            Locator table = probeSequentially(selectors, perSelTimeout, caller);
+            if (table != null) return table;
+            lastErr = e;
         }
-        return -1;
+        TestLog.warn("[{}] ❌ No table found.", caller);
+        reportFail("No visible table found for selectors: " + tableSelectors + (lastErr != null ? " | last error: " + lastErr.getMessage() : ""));
+        return null;
     }
 
-    private boolean match(String actual, String expected, String matchType) {
-        String a = actual == null ? "" : actual.trim().toLowerCase();
-        String e = expected == null ? "" : expected.trim().toLowerCase();
-        if ("exact".equalsIgnoreCase(matchType)) return a.equals(e);
-        return a.contains(e); // includes (default)
+    private Locator probeSequentially(List<String> selectors, long perSelTimeout, String caller) {
+        for (String sel : selectors) {
+            TestLog.debug("[{}] Trying selector: {}", caller, sel);
+            try {
+                Locator cand = visibleMatch(sel);
+                LocatorTimeouts.await(latencyKey(sel, WaitForSelectorState.VISIBLE), perSelTimeout,
+                        timeout -> cand.waitFor(new Locator.WaitForOptions().setTimeout(timeout).setState(WaitForSelectorState.VISIBLE)));
+                TestLog.info("[{}] ✅ Visible table found by: {}", caller, sel);
+                return cand;
+            } catch (PlaywrightException e) {
+                TestLog.warn("[{}] Selector failed: {} | reason: {}", caller, sel, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private Locator visibleMatch(String selector) {
+        return getPage().locator(selector + " >> visible=true").first();
+    }
+
+    /**
+     * The winning selector is cached by the path of the current page and the table name
+     */
+    private String tableCacheKey(String tableName) {
+        String path;
+        try {
+            path = URI.create(getPage().url()).getPath();
+        } catch (IllegalArgumentException e) {
+            path = getPage().url();
+        }
+        return path + "|" + tableName;
+    }
+
+    /**
+     * Reports the size of the table read and the driver round trips saved over reading it cell by cell
+     */
+    private void reportSnapshot(String tableName, int rows, int columns, long saved, int roundTrips) {
+        reportStep("Table '" + tableName + "' read in " + roundTrips + " round trip(s) (" + rows + " rows x "
+                + columns + " columns), " + saved + " round trips saved", "info");
+    }
+
+    /**
+     * Reports a fail when the table was not read to the end, an assertion over the whole table
+     * cannot pass on part of it
+     *
+     * @return true if the walk was incomplete (the failure is reported)
+     */
+    private boolean reportIncomplete(TableBatches batches, String tableName) {
+        String reason = batches.getIncomplete();
+        if (reason == null) return false;
+        TestLog.warn("[TableBatches] {} read partially: {}", tableName, reason);
+        reportFail("Table '" + tableName + "' was read partially (" + batches.getBatches() + " batch(es)): " + reason);
+        return true;
     }
 
     // ========================= 1) assertCellValueInRow =========================
@@ -2285,48 +2941,34 @@ public class PlaywrightWrapper extends Reporter {
             String rowIdentifierColumn, String rowIdentifierValue,
             String targetColumn, String expectedValue,
             String matchType, String tableName) {
+        return span("assertCellValueInRow", tableName,
+                () -> assertCellValueInRowAction(tableSelectors, rowIdentifierColumn, rowIdentifierValue, targetColumn, expectedValue, matchType, tableName));
+    }
+
+    private boolean assertCellValueInRowAction(
+            List<String> tableSelectors,
+            String rowIdentifierColumn, String rowIdentifierValue,
+            String targetColumn, String expectedValue,
+            String matchType, String tableName) {
 
-        System.out.println("\n[assertCellValueInRow] tableName=" + tableName);
-        System.out.println("[assertCellValueInRow] selectors=" + tableSelectors);
-        System.out.println("[assertCellValueInRow] rowIdentifierColumn='" + rowIdentifierColumn + "', rowIdentifierValue='" + rowIdentifierValue + "'");
-        System.out.println("[assertCellValueInRow] targetColumn='" + targetColumn + "', expectedValue='" + expectedValue + "', matchType=" + matchType);
+        TestLog.debug("[assertCellValueInRow] tableName={}", tableName);
+        TestLog.debug("[assertCellValueInRow] selectors={}", tableSelectors);
+        TestLog.debug("[assertCellValueInRow] rowIdentifierColumn='{}', rowIdentifierValue='{}'", rowIdentifierColumn, rowIdentifierValue);
+        TestLog.debug("[assertCellValueInRow] targetColumn='{}', expectedValue='{}', matchType={}", targetColumn, expectedValue, matchType);
 
         if (matchType == null || matchType.isBlank()) matchType = "includes";
-        final long perSelTimeout = Math.max(1000, ConfigurationManager.configuration().pauseMedium());
-
-        Locator table = null;
-        PlaywrightException lastErr = null;
-        String foundBySelector = null;
 
         try {
-            // find a visible table
-            for (String raw : tableSelectors) {
-                String sel = normalizeSelector(raw);
-                System.out.println("[assertCellValueInRow] Trying selector: " + sel);
-                try {
-                    Locator cand = getPage().locator(sel);
-                    cand.waitFor(new Locator.WaitForOptions().setTimeout(perSelTimeout).setState(WaitForSelectorState.VISIBLE));
-                    table = cand;
-                    foundBySelector = sel;
-                    System.out.println("[assertCellValueInRow] ✅ Visible table found by: " + sel);
-                    break;
-                } catch (PlaywrightException e) {
-                    System.out.println("[assertCellValueInRow] Selector failed: " + sel + " | reason: " + e.getMessage());
-                    lastErr = e;
-                }
-            }
-            if (table == null) {
-                System.out.println("[assertCellValueInRow] ❌ No table found.");
-                reportFail("No visible table found for selectors: " + tableSelectors + (lastErr != null ? " | last error: " + lastErr.getMessage() : ""));
-                return false;
-            }
+            Locator table = findVisibleTable(tableSelectors, tableName, "assertCellValueInRow");
+            if (table == null) return false;
 
-            List<String> headers = table.locator("thead th, thead td").allInnerTexts();
-            System.out.println("[assertCellValueInRow] Headers: " + headers);
+            TableSnapshot snapshot = TableSnapshot.capture(table);
+            List<String> headers = snapshot.headers();
+            TestLog.debug("[assertCellValueInRow] Headers: {}", headers);
             int idColIdx  = parseColumnIndex(rowIdentifierColumn, headers);
             int tgtColIdx = parseColumnIndex(targetColumn, headers);
 
-            System.out.println("[assertCellValueInRow] idColIdx=" + idColIdx + ", tgtColIdx=" + tgtColIdx);
+            TestLog.debug("[assertCellValueInRow] idColIdx={}, tgtColIdx={}", idColIdx, tgtColIdx);
 
             if (idColIdx < 0) {
                 reportFail("Row identifier column '" + rowIdentifierColumn + "' not found in headers: " + headers);
@@ -2337,27 +2979,26 @@ public class PlaywrightWrapper extends Reporter {
                 return false;
             }
 
-            List<Locator> rows = table.locator("tbody tr").all();
-            System.out.println("[assertCellValueInRow] Rows found: " + rows.size());
+            TestLog.debug("[assertCellValueInRow] Rows found: {}", snapshot.rowCount());
 
-            int rowNum = 0;
-            for (Locator row : rows) {
-                rowNum++;
-                String idCell = (row.locator("td:nth-child(" + (idColIdx + 1) + ")").textContent());
-                System.out.println("[assertCellValueInRow] Row#" + rowNum + " idCell='" + idCell + "'");
+            // headers + rows, then one read per scanned row
+            long perCellReads = 2;
+            for (int r = 0; r < snapshot.rowCount(); r++) {
+                perCellReads++;
+                String idCell = snapshot.cell(r, idColIdx);
+                if (TestLog.isDebug()) TestLog.debug("[assertCellValueInRow] Row#{} idCell='{}'", (r + 1), idCell);
                 if (match(idCell, rowIdentifierValue, "includes")) { // identify row by includes (robust)
-                    System.out.println("[assertCellValueInRow] ➜ Matched row identifier, inspecting target column...");
-                    Locator tgtCell = row.locator("td:nth-child(" + (tgtColIdx + 1) + ")");
-                    tgtCell.waitFor(new Locator.WaitForOptions().setTimeout(perSelTimeout).setState(WaitForSelectorState.VISIBLE));
-                    String actual = tgtCell.textContent();
-                    System.out.println("[assertCellValueInRow] Target cell text='" + actual + "'");
+                    TestLog.debug("[assertCellValueInRow] ➜ Matched row identifier, inspecting target column...");
+                    String actual = snapshot.cell(r, tgtColIdx);
+                    reportSnapshot(tableName, snapshot.rowCount(), snapshot.headers().size(), snapshot.recordSaved(perCellReads + 2), 1);
+                    TestLog.debug("[assertCellValueInRow] Target cell text='{}'", actual);
                     if (match(actual, expectedValue, matchType)) {
                         reportStep("Table '" + tableName + "': cell in column '" + targetColumn +
                                 "' for row '" + rowIdentifierValue + "' matched expected '" + expectedValue + "' (" + matchType + ")", "pass");
-                        System.out.println("[assertCellValueInRow] ✅ Assertion PASSED");
+                        TestLog.info("[assertCellValueInRow] ✅ Assertion PASSED");
                         return true;
                     } else {
-                        System.out.println("[assertCellValueInRow] ❌ Assertion FAILED");
+                        TestLog.warn("[assertCellValueInRow] ❌ Assertion FAILED");
                         reportFail("Table '" + tableName + "': expected '" + expectedValue + "' (" + matchType +
                                 ") in column '" + targetColumn + "' for row '" + rowIdentifierValue +
                                 "', but found '" + actual + "'");
@@ -2366,18 +3007,123 @@ public class PlaywrightWrapper extends Reporter {
                 }
             }
 
-            System.out.println("[assertCellValueInRow] ❌ No matching row found for identifier value.");
+            reportSnapshot(tableName, snapshot.rowCount(), snapshot.headers().size(), snapshot.recordSaved(perCellReads), 1);
+            TestLog.warn("[assertCellValueInRow] ❌ No matching row found for identifier value.");
             reportFail("Table '" + tableName + "': no row found where column '" + rowIdentifierColumn +
                     "' contains '" + rowIdentifierValue + "'.");
             return false;
 
         } catch (PlaywrightException e) {
-            System.out.println("[assertCellValueInRow] EXCEPTION: " + e.getMessage());
+            TestLog.warn("[assertCellValueInRow] EXCEPTION: {}", e.getMessage());
             reportFail("Failed in assertCellValueInRow: " + e.getMessage());
             return false;
         }
     }
 
+    // ===================== whole table against a dataset =====================
+    /**
+     * Use this method to compare the whole table (or its rows that meet the filters) with an expected dataset
+     *
+     * @param tableSelectors The candidate selectors of the table
+     * @param datasetFile    The expected CSV or JSON file (path, or relative to data/ or TestData/)
+     * @param options        The key, ignored and filter columns and the match type
+     * @param tableName      The table name for the report
+     * @return true if the table matches the dataset else false
+     */
+    public boolean assertTableMatchesDataset(List<String> tableSelectors, String datasetFile, TableDiff.Options options, String tableName) {
+        return assertTableMatchesDataset(tableSelectors, datasetFile, options, tableName, TablePaging.none());
+    }
+
+    /**
+     * Same as above over every page (or scroll window) of the table, read batch by batch
+     *
+     * @param paging How to reach the rows that are not rendered yet (TablePaging.nextButton / scroll)
+     */
+    public boolean assertTableMatchesDataset(List<String> tableSelectors, String datasetFile, TableDiff.Options options,
+                                             String tableName, TablePaging paging) {
+        return span("assertTableMatchesDataset", tableName,
+                () -> assertTableMatchesDatasetAction(tableSelectors, datasetFile, options, tableName, paging));
+    }
+
+    private boolean assertTableMatchesDatasetAction(List<String> tableSelectors, String datasetFile, TableDiff.Options options,
+                                             String tableName, TablePaging paging) {
+        TestLog.debug("[assertTableMatchesDataset] tableName={}, dataset={}, {}, paging={}", tableName, datasetFile, options, paging);
+        try {
+            TableDiff diff = new TableDiff(DatasetReader.read(datasetFile), options);
+            Locator table = findVisibleTable(tableSelectors, tableName, "assertTableMatchesDataset");
+            if (table == null) return false;
+
+            TableBatches batches = new TableBatches(getPage(), table, paging, () -> settle(SettleStrategy.DOM_QUIET));
+            while (batches.hasNext()) {
+                diff.accept(batches.next());
+            }
+            if (reportIncomplete(batches, tableName)) return false;
+            TableDiff.Result result = diff.finish();
+            if (TestLog.isDebug()) TestLog.debug("[assertTableMatchesDataset] {}", result.summary("\n"));
+            if (result.isMatch()) {
+                reportStep("Table '" + tableName + "' matches the dataset " + datasetFile + ": " + result.summary("<br>"), "pass");
+                return true;
+            }
+            reportFail("Table '" + tableName + "' differs from the dataset " + datasetFile + ": " + result.summary("<br>"));
+            return false;
+        } catch (IllegalArgumentException | PlaywrightException e) {
+            TestLog.warn("[assertTableMatchesDataset] EXCEPTION: {}", e.getMessage());
+            reportFail("Failed in assertTableMatchesDataset: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // ===================== captured table (many checks, one read) =====================
+    /**
+     * Use this method to read a table once and run many cell checks against it (CapturedTable.expectCell),
+     * then report all of them with assertCapturedTable.
+     *
+     * @param tableSelectors The candidate selectors of the table
+     * @param tableName      The table name for the report
+     * @return the captured table or null when no visible table was found (the failure is reported)
+     */
+    public CapturedTable captureTable(List<String> tableSelectors, String tableName) {
+        return span("captureTable", tableName, () -> captureTableAction(tableSelectors, tableName));
+    }
+
+    private CapturedTable captureTableAction(List<String> tableSelectors, String tableName) {
+        try {
+            Locator table = findVisibleTable(tableSelectors, tableName, "captureTable");
+            if (table == null) return null;
+            TableSnapshot snapshot = TableSnapshot.capture(table);
+            TestLog.info("[captureTable] {} captured: {} rows, headers {}", tableName, snapshot.rowCount(), snapshot.headers());
+            return new CapturedTable(tableName, snapshot);
+        } catch (PlaywrightException e) {
+            reportFail("Failed in captureTable: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Use this method to report every check made on a captured table in a single step, and clear them
+     *
+     * @param table The captured table with its checks
+     * @return true if all the checks passed else false
+     */
+    public boolean assertCapturedTable(CapturedTable table) {
+        return span("assertCapturedTable", table == null ? null : table.getName(), () -> assertCapturedTableAction(table));
+    }
+
+    private boolean assertCapturedTableAction(CapturedTable table) {
+        if (table == null) return false;
+        List<String> passed = table.getPassed();
+        List<String> failed = table.getFailed();
+        int total = passed.size() + failed.size();
+        StringBuilder outcomes = new StringBuilder();
+        failed.forEach(f -> outcomes.append("<br>&#10008; ").append(f));
+        passed.forEach(p -> outcomes.append("<br>&#10004; ").append(p));
+        boolean ok = failed.isEmpty();
+        reportStep("Table '" + table.getName() + "': " + (total - failed.size()) + "/" + total + " cell checks passed" + outcomes,
+                ok ? "pass" : "fail");
+        table.clearChecks();
+        return ok;
+    }
+
     // ========================= 2) assertTableColumnValues ======================
     /**
      * @param assertionType "all" | "none" | "any"
@@ -2390,97 +3136,123 @@ public class PlaywrightWrapper extends Reporter {
             String assertionType,
             String matchType,
             String tableName) {
+        return assertTableColumnValues(tableSelectors, columnHeader, expectedValue, assertionType, matchType, tableName, TablePaging.none());
+    }
+
+    /**
+     * Same as above over every page (or scroll window) of the table, read batch by batch.
+     * The walk stops as soon as the outcome is decided (a match for "any", a violation for "all" / "none").
+     *
+     * @param paging How to reach the rows that are not rendered yet (TablePaging.nextButton / scroll)
+     */
+    public boolean assertTableColumnValues(
+            List<String> tableSelectors,
+            String columnHeader,
+            String expectedValue,
+            String assertionType,
+            String matchType,
+            String tableName,
+            TablePaging paging) {
+        return span("assertTableColumnValues", tableName,
+                () -> assertTableColumnValuesAction(tableSelectors, columnHeader, expectedValue, assertionType, matchType, tableName, paging));
+    }
+
+    private boolean assertTableColumnValuesAction(
+            List<String> tableSelectors,
+            String columnHeader,
+            String expectedValue,
+            String assertionType,
+            String matchType,
+            String tableName,
+            TablePaging paging) {
 
-        System.out.println("\n[assertTableColumnValues] tableName=" + tableName);
-        System.out.println("[assertTableColumnValues] selectors=" + tableSelectors);
-        System.out.println("[assertTableColumnValues] columnHeader='" + columnHeader + "', expectedValue='" + expectedValue + "'");
-        System.out.println("[assertTableColumnValues] assertionType=" + assertionType + ", matchType=" + matchType);
+        TestLog.debug("[assertTableColumnValues] tableName={}", tableName);
+        TestLog.debug("[assertTableColumnValues] selectors={}", tableSelectors);
+        TestLog.debug("[assertTableColumnValues] columnHeader='{}', expectedValue='{}'", columnHeader, expectedValue);
+        TestLog.debug("[assertTableColumnValues] assertionType={}, matchType={}, paging={}", assertionType, matchType, paging);
 
         if (assertionType == null || assertionType.isBlank()) assertionType = "all";
         if (matchType == null || matchType.isBlank()) matchType = "includes";
 
-        Locator table = null;
-        PlaywrightException lastErr = null;
-        final long perSelTimeout = Math.max(1000, ConfigurationManager.configuration().pauseMedium());
-
         try {
-            for (String raw : tableSelectors) {
-                String sel = normalizeSelector(raw);
-                System.out.println("[assertTableColumnValues] Trying selector: " + sel);
-                try {
-                    Locator cand = getPage().locator(sel);
-                    cand.waitFor(new Locator.WaitForOptions().setTimeout(perSelTimeout).setState(WaitForSelectorState.VISIBLE));
-                    table = cand;
-                    System.out.println("[assertTableColumnValues] ✅ Visible table found by: " + sel);
-                    break;
-                } catch (PlaywrightException e) {
-                    System.out.println("[assertTableColumnValues] Selector failed: " + sel + " | reason: " + e.getMessage());
-                    lastErr = e;
-                }
-            }
-            if (table == null) {
-                System.out.println("[assertTableColumnValues] ❌ No table found.");
-                reportFail("No visible table found for selectors: " + tableSelectors + (lastErr != null ? " | last error: " + lastErr.getMessage() : ""));
-                return false;
-            }
+            Locator table = findVisibleTable(tableSelectors, tableName, "assertTableColumnValues");
+            if (table == null) return false;
 
-            List<String> headers = table.locator("thead th, thead td").allInnerTexts();
-            System.out.println("[assertTableColumnValues] Headers: " + headers);
-            int colIdx = parseColumnIndex(columnHeader, headers);
-            System.out.println("[assertTableColumnValues] colIdx=" + colIdx);
+            TableBatches batches = new TableBatches(getPage(), table, paging, () -> settle(SettleStrategy.DOM_QUIET));
+            List<String> headers = null;
+            int colIdx = -1;
+            boolean anyMatch = false;
+            boolean decided = false;
+            List<String> violations = new ArrayList<>();
+            int idx = 0;
+            int rows = 0;
+            long saved = 0;
+
+            while (!decided && batches.hasNext()) {
+                TableSnapshot snapshot = batches.next();
+                rows += snapshot.rowCount();
+                if (headers == null) {
+                    headers = snapshot.headers();
+                    TestLog.debug("[assertTableColumnValues] Headers: {}", headers);
+                    colIdx = parseColumnIndex(columnHeader, headers);
+                    TestLog.debug("[assertTableColumnValues] colIdx={}", colIdx);
+                    if (colIdx < 0) {
+                        reportFail("Column '" + columnHeader + "' not found in headers: " + headers);
+                        return false;
+                    }
+                }
 
-            if (colIdx < 0) {
-                reportFail("Column '" + columnHeader + "' not found in headers: " + headers);
-                return false;
+                // only the rows that have a td at the column position, like "tbody tr td:nth-child(n)"
+                List<String> cells = snapshot.column(colIdx).stream().filter(Objects::nonNull).collect(Collectors.toList());
+                TestLog.debug("[assertTableColumnValues] Batch#{} cells count: {}", batches.getBatches(), cells.size());
+                // headers + cells, then a wait and a read per cell
+                saved += snapshot.recordSaved(2 + 2L * cells.size());
+
+                for (String actual : cells) {
+                    idx++;
+                    boolean ok = match(actual, expectedValue, matchType);
+                    if (TestLog.isDebug()) TestLog.debug("[assertTableColumnValues] Cell#{} actual='{}' -> ok={}", idx, actual, ok);
+
+                    switch (assertionType.toLowerCase()) {
+                        case "all":
+                            if (!ok) violations.add("Found '" + actual + "'");
+                            break;
+                        case "none":
+                            if (ok) violations.add("Found '" + actual + "' which matches");
+                            break;
+                        case "any":
+                            if (ok) anyMatch = true;
+                            break;
+                    }
+                    if (anyMatch) break;
+                }
+                // a violation or a match decides the outcome, the remaining pages are not read
+                decided = anyMatch || !violations.isEmpty();
             }
+            if (decided) batches.stopEarly();
+            reportSnapshot(tableName, rows, headers == null ? 0 : headers.size(), saved, batches.getBatches());
+            if (!decided && reportIncomplete(batches, tableName)) return false;
 
-            List<Locator> cells = table.locator("tbody tr td:nth-child(" + (colIdx + 1) + ")").all();
-            System.out.println("[assertTableColumnValues] Cells count: " + cells.size());
-
-            if (cells.isEmpty()) {
+            if (idx == 0) {
                 if ("none".equalsIgnoreCase(assertionType)) {
                     reportStep("Table '" + tableName + "': no visible rows; 'none' assertion passes.", "pass");
-                    System.out.println("[assertTableColumnValues] ✅ 'none' passes (no rows).");
+                    TestLog.info("[assertTableColumnValues] ✅ 'none' passes (no rows).");
                     return true;
                 } else {
-                    System.out.println("[assertTableColumnValues] ❌ No rows present for column.");
+                    TestLog.warn("[assertTableColumnValues] ❌ No rows present for column.");
                     reportFail("Table '" + tableName + "': no visible rows for column '" + columnHeader + "'.");
                     return false;
                 }
             }
 
-            boolean anyMatch = false;
-            List<String> violations = new ArrayList<>();
-
-            int idx = 0;
-            for (Locator cell : cells) {
-                idx++;
-                cell.waitFor(new Locator.WaitForOptions().setTimeout(perSelTimeout).setState(WaitForSelectorState.VISIBLE));
-                String actual = cell.textContent();
-                boolean ok = match(actual, expectedValue, matchType);
-                System.out.println("[assertTableColumnValues] Cell#" + idx + " actual='" + actual + "' -> ok=" + ok);
-
-                switch (assertionType.toLowerCase()) {
-                    case "all":
-                        if (!ok) violations.add("Found '" + actual + "'");
-                        break;
-                    case "none":
-                        if (ok) violations.add("Found '" + actual + "' which matches");
-                        break;
-                    case "any":
-                        if (ok) anyMatch = true;
-                        break;
-                }
-            }
-
             if ("any".equalsIgnoreCase(assertionType)) {
                 if (anyMatch) {
                     reportStep("Table '" + tableName + "': at least one cell in '" + columnHeader +
                             "' matched '" + expectedValue + "' (" + matchType + ")", "pass");
-                    System.out.println("[assertTableColumnValues] ✅ ANY passed.");
+                    TestLog.info("[assertTableColumnValues] ✅ ANY passed.");
                     return true;
                 }
-                System.out.println("[assertTableColumnValues] ❌ ANY failed (no matches).");
+                TestLog.warn("[assertTableColumnValues] ❌ ANY failed (no matches).");
                 reportFail("Table '" + tableName + "': no cell in '" + columnHeader +
                         "' matched '" + expectedValue + "' (" + matchType + ")");
                 return false;
@@ -2488,11 +3260,11 @@ public class PlaywrightWrapper extends Reporter {
                 if (violations.isEmpty()) {
                     reportStep("Table '" + tableName + "': assertion '" + assertionType + "' passed for expected '" +
                             expectedValue + "' (" + matchType + ") in column '" + columnHeader + "'.", "pass");
-                    System.out.println("[assertTableColumnValues] ✅ " + assertionType.toUpperCase() + " passed.");
+                    TestLog.info("[assertTableColumnValues] ✅ '{}' passed.", assertionType);
                     return true;
                 } else {
                     String joined = violations.stream().limit(10).collect(Collectors.joining("; "));
-                    System.out.println("[assertTableColumnValues] ❌ " + assertionType.toUpperCase() + " failed. Issues: " + joined);
+                    TestLog.warn("[assertTableColumnValues] ❌ '{}' failed. Issues: {}", assertionType, joined);
                     reportFail("Table '" + tableName + "': assertion '" + assertionType + "' failed for '" +
                             expectedValue + "' (" + matchType + ") in column '" + columnHeader + "'. Issues: " + joined);
                     return false;
@@ -2500,7 +3272,7 @@ public class PlaywrightWrapper extends Reporter {
             }
 
         } catch (PlaywrightException e) {
-            System.out.println("[assertTableColumnValues] EXCEPTION: " + e.getMessage());
+            TestLog.warn("[assertTableColumnValues] EXCEPTION: {}", e.getMessage());
             reportFail("Failed in assertTableColumnValues: " + e.getMessage());
             return false;
         }
@@ -2518,114 +3290,144 @@ public class PlaywrightWrapper extends Reporter {
             String assertMatchType,   // "exact" | "includes"
             boolean negativeAssertion,
             String tableName) {
+        return assertFilteredTableRows(tableSelectors, filters, assertColumn, assertValue, assertMatchType, negativeAssertion, tableName, TablePaging.none());
+    }
+
+    /**
+     * Same as above over every page (or scroll window) of the table, read batch by batch.
+     * A negative assertion stops at the page of the first disallowed match.
+     *
+     * @param paging How to reach the rows that are not rendered yet (TablePaging.nextButton / scroll)
+     */
+    public boolean assertFilteredTableRows(
+            List<String> tableSelectors,
+            List<FilterCondition> filters,
+            String assertColumn,
+            String assertValue,
+            String assertMatchType,   // "exact" | "includes"
+            boolean negativeAssertion,
+            String tableName,
+            TablePaging paging) {
+        return span("assertFilteredTableRows", tableName,
+                () -> assertFilteredTableRowsAction(tableSelectors, filters, assertColumn, assertValue, assertMatchType, negativeAssertion, tableName, paging));
+    }
+
+    private boolean assertFilteredTableRowsAction(
+            List<String> tableSelectors,
+            List<FilterCondition> filters,
+            String assertColumn,
+            String assertValue,
+            String assertMatchType,   // "exact" | "includes"
+            boolean negativeAssertion,
+            String tableName,
+            TablePaging paging) {
 
-        System.out.println("\n[assertFilteredTableRows] tableName=" + tableName);
-        System.out.println("[assertFilteredTableRows] selectors=" + tableSelectors);
-        System.out.println("[assertFilteredTableRows] filters=" + filters);
-        System.out.println("[assertFilteredTableRows] assertColumn='" + assertColumn + "', assertValue='" + assertValue +
-                "', assertMatchType=" + assertMatchType + ", negativeAssertion=" + negativeAssertion);
+        TestLog.debug("[assertFilteredTableRows] tableName={}", tableName);
+        TestLog.debug("[assertFilteredTableRows] selectors={}", tableSelectors);
+        TestLog.debug("[assertFilteredTableRows] filters={}", filters);
+        TestLog.debug("[assertFilteredTableRows] assertColumn='{}', assertValue='{}', assertMatchType={}, negativeAssertion={}, paging={}", assertColumn, assertValue, assertMatchType, negativeAssertion, paging);
 
         if (assertMatchType == null || assertMatchType.isBlank()) assertMatchType = "includes";
-        Locator table = null;
-        PlaywrightException lastErr = null;
-        final long perSelTimeout = Math.max(1000, ConfigurationManager.configuration().pauseMedium());
 
         try {
-            for (String raw : tableSelectors) {
-                String sel = normalizeSelector(raw);
-                System.out.println("[assertFilteredTableRows] Trying selector: " + sel);
-                try {
-                    Locator cand = getPage().locator(sel);
-                    cand.waitFor(new Locator.WaitForOptions().setTimeout(perSelTimeout).setState(WaitForSelectorState.VISIBLE));
-                    table = cand;
-                    System.out.println("[assertFilteredTableRows] ✅ Visible table found by: " + sel);
-                    break;
-                } catch (PlaywrightException e) {
-                    System.out.println("[assertFilteredTableRows] Selector failed: " + sel + " | reason: " + e.getMessage());
-                    lastErr = e;
-                }
-            }
-            if (table == null) {
-                System.out.println("[assertFilteredTableRows] ❌ No table found.");
-                reportFail("No visible table found for selectors: " + tableSelectors + (lastErr != null ? " | last error: " + lastErr.getMessage() : ""));
-                return false;
-            }
-
-            List<String> headers = table.locator("thead th, thead td").allInnerTexts();
-            System.out.println("[assertFilteredTableRows] Headers: " + headers);
+            Locator table = findVisibleTable(tableSelectors, tableName, "assertFilteredTableRows");
+            if (table == null) return false;
 
-            // compute filter column indices
+            TableBatches batches = new TableBatches(getPage(), table, paging, () -> settle(SettleStrategy.DOM_QUIET));
+            List<String> headers = null;
             List<Integer> filterIdx = new ArrayList<>();
-            for (FilterCondition fc : filters) {
-                int idx = parseColumnIndex(fc.column, headers);
-                System.out.println("[assertFilteredTableRows] Filter column '" + fc.column + "' -> idx=" + idx);
-                if (idx < 0) {
-                    reportFail("Filter column '" + fc.column + "' not found in headers: " + headers);
-                    return false;
-                }
-                filterIdx.add(idx);
-            }
-
-            int assertColIdx = parseColumnIndex(assertColumn, headers);
-            System.out.println("[assertFilteredTableRows] assertColIdx=" + assertColIdx);
-            if (assertColIdx < 0) {
-                reportFail("Assert column '" + assertColumn + "' not found in headers: " + headers);
-                return false;
-            }
-
-            List<Locator> rows = table.locator("tbody tr").all();
-            System.out.println("[assertFilteredTableRows] Rows found: " + rows.size());
-
+            int assertColIdx = -1;
             boolean anyFilteredRow = false;
             List<String> failures = new ArrayList<>();
-
             int rowNum = 0;
-            for (Locator row : rows) {
-                rowNum++;
-                boolean matchesAll = true;
-
-                for (int i = 0; i < filters.size(); i++) {
-                    FilterCondition fc = filters.get(i);
-                    int idx = filterIdx.get(i);
-                    String cellText = (row.locator("td:nth-child(" + (idx + 1) + ")").textContent());
-                    boolean ok = match(cellText, fc.value, fc.matchType);
-                    System.out.println("[assertFilteredTableRows] Row#" + rowNum + " filter#" + (i + 1) +
-                            " column='" + fc.column + "' cellText='" + cellText + "' -> ok=" + ok);
-                    if (!ok) {
-                        matchesAll = false;
-                        break;
+            long saved = 0;
+
+            while (batches.hasNext()) {
+                TableSnapshot snapshot = batches.next();
+                if (headers == null) {
+                    headers = snapshot.headers();
+                    TestLog.debug("[assertFilteredTableRows] Headers: {}", headers);
+
+                    // compute filter column indices
+                    for (FilterCondition fc : filters) {
+                        int idx = parseColumnIndex(fc.column, headers);
+                        TestLog.debug("[assertFilteredTableRows] Filter column '{}' -> idx={}", fc.column, idx);
+                        if (idx < 0) {
+                            reportFail("Filter column '" + fc.column + "' not found in headers: " + headers);
+                            return false;
+                        }
+                        filterIdx.add(idx);
                     }
-                }
 
-                if (!matchesAll) {
-                    System.out.println("[assertFilteredTableRows] Row#" + rowNum + " does NOT satisfy all filters. Skipping.");
-                    continue;
+                    assertColIdx = parseColumnIndex(assertColumn, headers);
+                    TestLog.debug("[assertFilteredTableRows] assertColIdx={}", assertColIdx);
+                    if (assertColIdx < 0) {
+                        reportFail("Assert column '" + assertColumn + "' not found in headers: " + headers);
+                        return false;
+                    }
                 }
 
-                anyFilteredRow = true;
-
-                String assertText = (row.locator("td:nth-child(" + (assertColIdx + 1) + ")").textContent());
-                boolean ok = match(assertText, assertValue, assertMatchType);
-                System.out.println("[assertFilteredTableRows] Row#" + rowNum + " assertText='" + assertText + "' ok=" + ok);
+                TestLog.debug("[assertFilteredTableRows] Batch#{} rows found: {}", batches.getBatches(), snapshot.rowCount());
+                // headers + rows, then one read per evaluated cell
+                long perCellReads = 2;
+
+                for (int r = 0; r < snapshot.rowCount(); r++) {
+                    rowNum++;
+                    boolean matchesAll = true;
+
+                    for (int i = 0; i < filters.size(); i++) {
+                        FilterCondition fc = filters.get(i);
+                        int idx = filterIdx.get(i);
+                        String cellText = snapshot.cell(r, idx);
+                        perCellReads++;
+                        boolean ok = match(cellText, fc.value, fc.matchType);
+                        if (TestLog.isDebug()) TestLog.debug("[assertFilteredTableRows] Row#{} filter#{} column='{}' cellText='{}' -> ok={}", rowNum, (i + 1), fc.column, cellText, ok);
+                        if (!ok) {
+                            matchesAll = false;
+                            break;
+                        }
+                    }
 
-                if (negativeAssertion) {
-                    if (ok) {
-                        failures.add("Row#" + rowNum + " has '" + assertText + "' matching disallowed '" + assertValue + "'");
+                    if (!matchesAll) {
+                        if (TestLog.isDebug()) TestLog.debug("[assertFilteredTableRows] Row#{} does NOT satisfy all filters. Skipping.", rowNum);
+                        continue;
                     }
-                } else {
-                    if (!ok) {
-                        failures.add("Row#" + rowNum + " has '" + assertText + "' which does not match expected '" + assertValue + "'");
+
+                    anyFilteredRow = true;
+
+                    String assertText = snapshot.cell(r, assertColIdx);
+                    perCellReads++;
+                    boolean ok = match(assertText, assertValue, assertMatchType);
+                    if (TestLog.isDebug()) TestLog.debug("[assertFilteredTableRows] Row#{} assertText='{}' ok={}", rowNum, assertText, ok);
+
+                    if (negativeAssertion) {
+                        if (ok) {
+                            failures.add("Row#" + rowNum + " has '" + assertText + "' matching disallowed '" + assertValue + "'");
+                        }
+                    } else {
+                        if (!ok) {
+                            failures.add("Row#" + rowNum + " has '" + assertText + "' which does not match expected '" + assertValue + "'");
+                        }
                     }
                 }
+                saved += snapshot.recordSaved(perCellReads);
+
+                // a failure decides the outcome, the remaining pages are not read
+                if (!failures.isEmpty()) {
+                    batches.stopEarly();
+                    break;
+                }
             }
+            reportSnapshot(tableName, rowNum, headers == null ? 0 : headers.size(), saved, batches.getBatches());
+            if (failures.isEmpty() && reportIncomplete(batches, tableName)) return false;
 
             if (!anyFilteredRow) {
                 if (negativeAssertion) {
                     reportStep("Table '" + tableName + "': no rows matched filter conditions; negative assertion passes implicitly.", "pass");
-                    System.out.println("[assertFilteredTableRows] ✅ No filtered rows; negative assertion passes.");
+                    TestLog.info("[assertFilteredTableRows] ✅ No filtered rows; negative assertion passes.");
                     return true;
                 } else {
-                    System.out.println("[assertFilteredTableRows] ❌ No filtered rows; positive assertion cannot be performed.");
+                    TestLog.warn("[assertFilteredTableRows] ❌ No filtered rows; positive assertion cannot be performed.");
                     reportFail("Table '" + tableName + "': no rows matched filter conditions; cannot perform positive assertion.");
                     return false;
                 }
@@ -2633,17 +3435,17 @@ public class PlaywrightWrapper extends Reporter {
 
             if (failures.isEmpty()) {
                 reportStep("Table '" + tableName + "': filtered rows assertion passed.", "pass");
-                System.out.println("[assertFilteredTableRows] ✅ Assertion PASSED.");
+                TestLog.info("[assertFilteredTableRows] ✅ Assertion PASSED.");
                 return true;
             } else {
                 String joined = failures.stream().limit(10).collect(Collectors.joining("; "));
-                System.out.println("[assertFilteredTableRows] ❌ Assertion FAILED: " + joined);
+                TestLog.warn("[assertFilteredTableRows] ❌ Assertion FAILED: {}", joined);
                 reportFail("Table '" + tableName + "': filtered rows assertion failed: " + joined);
                 return false;
             }
 
         } catch (PlaywrightException e) {
-            System.out.println("[assertFilteredTableRows] EXCEPTION: " + e.getMessage());
+            TestLog.warn("[assertFilteredTableRows] EXCEPTION: {}", e.getMessage());
             reportFail("Failed in assertFilteredTableRows: " + e.getMessage());
             return false;
         }
@@ -24,14 +24,22 @@
 
 package com.ui.base;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 
+import org.testng.ITestResult;
 import org.testng.annotations.*;
 
 import com.config.ConfigurationManager;
-import com.microsoft.playwright.Tracing;
 import com.microsoft.playwright.Video;
+import com.ui.utilities.ArtifactManager;
+import com.ui.utilities.ExcelReader;
+import com.ui.utilities.LocatorTimeouts;
+import com.ui.utilities.RunStats;
+import com.ui.utilities.StepEventLog;
+import com.ui.utilities.TestLog;
 import com.ui.utilities.XMLReaderUtil;
 
 
@@ -39,10 +47,17 @@ public class ProjectHooks extends PlaywrightWrapper {
 
     // This is for the email that you may need to use within test automation
     protected static final ThreadLocal<String> email = new ThreadLocal<String>();
+    private static final ThreadLocal<Integer> methodFailedSteps = new ThreadLocal<Integer>();
     public static int count = 0;
     //public static Map<String,String> newEmails;
     public static String videoFolderName = "videos/";
     public static String tracesFolderName = "videos/";
+
+    public static final String VIDEO_NOT_RECORDED = "video.not.recorded";
+    public static final String VIDEO_KEPT = "video.kept";
+    public static final String VIDEO_KEPT_BYTES = "video.kept.bytes";
+    public static final String VIDEO_DISCARDED = "video.discarded";
+    public static final String VIDEO_DISCARDED_BYTES = "video.discarded.bytes";
     public static List<String> groupNames = XMLReaderUtil.readXMLAttributeValue("include");
 	public static String xmlUserLevel = groupNames.get(count);
 
@@ -54,9 +69,11 @@ public class ProjectHooks extends PlaywrightWrapper {
      */
     @BeforeSuite(groups = {"Tier1Admin", "Tier1User", "Tier2Admin", "Tier2User", "Tier3EndUser"})
     public void initSuite() {
-        videoFolderName = createFolder("videos");
-        tracesFolderName = createFolder("traces");
+        // one folder per shard, like the report, so the parallel JVMs never share their files
+        videoFolderName = createFolder("videos", shardSuffix());
+        tracesFolderName = createFolder("traces", shardSuffix());
         startReport();
+        ArtifactManager.enforceRetention(Paths.get(folderName), Paths.get(videoFolderName), Paths.get(tracesFolderName));
         xmlUserLevel = groupNames.get(count);
     	count++;
     }
@@ -67,50 +84,124 @@ public class ProjectHooks extends PlaywrightWrapper {
         startTestCase();
     }
 
+    /**
+     * Will be invoked before every test method and start its trace chunk (when the class is traced)
+     */
+    @BeforeMethod(alwaysRun = true, groups = {"Tier1Admin", "Tier1User", "Tier2Admin", "Tier2User", "Tier3EndUser"})
+    public void startTraceChunk(ITestResult result) {
+        methodFailedSteps.set(failedSteps());
+        if (TraceChunks.isActive()) TraceChunks.startChunk(traceName(result));
+    }
+
+    /**
+     * Will be invoked after every test method and write its trace chunk only when the method failed
+     * (or reported a fail step) or was retried
+     */
+    @AfterMethod(alwaysRun = true, groups = {"Tier1Admin", "Tier1User", "Tier2Admin", "Tier2User", "Tier3EndUser"})
+    public void stopTraceChunk(ITestResult result) {
+        Integer atStart = methodFailedSteps.get();
+        methodFailedSteps.remove();
+        boolean keep = result.getStatus() == ITestResult.FAILURE || result.wasRetried()
+                || failedSteps() > (atStart == null ? 0 : atStart);
+        TraceChunks.stopChunk(keep, Paths.get(tracesFolderName, traceName(result) + ".zip"));
+    }
+
+    private static String traceName(ITestResult result) {
+        return result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName()
+                + "-" + (result.getMethod().getCurrentInvocationCount() + 1);
+    }
+
     /**
      * Will be invoked after once for every test case execution and
-     * a) video & tracing will be created in the given folder
+     * a) video (as per video.mode) will be created in the given folder and the tracing session is stopped
      * b) result will be published
+     * Nothing is closed when the class never launched the browser (lazy launch).
      *
      * @author Srikanth
      */
     @AfterClass(alwaysRun = true, groups = {"Tier1Admin", "Tier1User", "Tier2Admin", "Tier2User", "Tier3EndUser"})
     public void tearDown() {
+        if (skipPendingBrowserSetup()) {
+            TestLog.info("tear down skipped, the browser was never launched for {}", testcaseName);
+            endTestCase();
+            return;
+        }
         try {
-            System.out.println("tear down start");
+            TestLog.info("tear down start");
 // End tracing
             if (!ConfigurationManager.configuration().browser().equalsIgnoreCase("cloud")) {
-                getContext().tracing().stop(new Tracing.StopOptions().setPath(Paths.get(tracesFolderName + "/" + testcaseName + ".zip")));
-                Video video = getPage().video();
+                TraceChunks.stop(); // the chunks of the failed methods are already written
+                Video video = getPage().video(); // null when video.mode does not record this run
                 getPage().close();
-                video.saveAs(Paths.get(videoFolderName + "/" + testcaseName + ".webm"));
-                getContext().close(); // video will be saved
-                video.delete();
-                getPlaywright().close();
+                getContext().close(); // video will be complete
+                if (video != null) keepOrDiscard(video);
+                releaseBrowser();
+                ContextPool.warmUp(); // the next class takes a ready context
             } else {
                 //endResult();
+                TraceChunks.stop();
                 getPage().close();
                 //video.saveAs(Paths.get(videoFolderName+"/"+testcaseName+".webm"));
                 getContext().close(); // video will be saved
                 //video.delete();
-                getPlaywright().close();
+                releaseBrowser();
+                ContextPool.warmUp(); // the next class takes a ready context
             }
         } catch (Exception e) {
             //endResult();
             e.printStackTrace();
+        } finally {
+            page.remove();
+            context.remove();
+            endTestCase();
+        }
+    }
+
+    /**
+     * Moves the video of the class to the video folder when video.mode keeps it (see {@link VideoPolicy}),
+     * else deletes it where it was recorded, without copying it
+     */
+    private void keepOrDiscard(Video video) {
+        long bytes = 0;
+        try {
+            bytes = Files.size(video.path());
+        } catch (Exception e) {
+            // the size is only used for the run summary
         }
+        if (VideoPolicy.current().keeps(hasFailed())) {
+            Path kept = Paths.get(videoFolderName + "/" + testcaseName + ".webm");
+            video.saveAs(kept);
+            ArtifactManager.track(kept, "video");
+            RunStats.increment(VIDEO_KEPT);
+            RunStats.add(VIDEO_KEPT_BYTES, bytes);
+        } else {
+            RunStats.increment(VIDEO_DISCARDED);
+            RunStats.add(VIDEO_DISCARDED_BYTES, bytes);
+        }
+        video.delete();
     }
 
     @AfterSuite(alwaysRun = true, groups = {"Tier1Admin", "Tier1User", "Tier2Admin", "Tier2User", "Tier3EndUser"})
     public void endReport() {
         try {
+            ContextPool.drain(); // before the browsers are closed, so the idle videos can be deleted
+            ExcelReader.closeStreams();
+            BrowserPool.shutdown();
+            LocatorTimeouts.save();
+            TraceChunks.awaitMoves();
+            StepEventLog.close();
+            reportLatencies();
+            ArtifactManager.compact(Paths.get(folderName));
+            reportRunStats();
             endResult();
-            System.out.println("After Suite");
+            TestLog.info("After Suite");
         } catch (Exception e) {
             e.printStackTrace();
         } finally {
             endResult();
-            System.out.println("After Suite");
+            // after the final flush, so the report and its shard are listed with their final size
+            ArtifactManager.finish(Paths.get(folderName), Paths.get(folderName), Paths.get(videoFolderName), Paths.get(tracesFolderName));
+            TestLog.info("After Suite");
         }
     }
 
@@ -120,5 +211,10 @@ public class ProjectHooks extends PlaywrightWrapper {
 //        return ExcelReader.readExcelData(dataFileName);
 //    }
 
+//    @DataProvider(name = "StreamedTestData")
+//    public Iterator<Object[]> getStreamedData() {
+//        return ExcelReader.streamExcelData(dataFileName);
+//    }
+
 
 }
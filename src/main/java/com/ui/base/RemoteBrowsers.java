@@ -0,0 +1,135 @@
+package com.ui.base;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.config.ConfigurationManager;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+import com.ui.utilities.RunStats;
+import com.ui.utilities.TestLog;
+
+/**
+ * Connects to remote Playwright browser servers (started with "npx playwright run-server --port 3000")
+ * instead of launching the browser on the test host.
+ * The endpoints are taken from grid.url (comma separated) and grid.port is used for the ones without a port.
+ * An endpoint is picked round-robin or by the least number of open connections (grid.strategy).
+ */
+public class RemoteBrowsers {
+
+    public static final String CONNECT = "grid.connect";
+    public static final String CONNECT_FAILED = "grid.connect.failed";
+
+    private static final AtomicInteger next = new AtomicInteger();
+    private static final Map<String, AtomicInteger> openConnections = new ConcurrentHashMap<String, AtomicInteger>();
+
+    private RemoteBrowsers() {
+    }
+
+    /**
+     * @return true when the configured target is remote
+     */
+    public static boolean isRemote() {
+        String target = ConfigurationManager.configuration().target();
+        return target != null && target.trim().equalsIgnoreCase("remote");
+    }
+
+    /**
+     * Connects to one of the configured endpoints, trying the others when the chosen one is not reachable.
+     *
+     * @param playwright  The driver to connect with
+     * @param browserName The accepted browsers are chrome, edge, firefox, safari (webkit)
+     * @return the connected browser or null when the browser name is not supported
+     */
+    public static Browser connect(Playwright playwright, String browserName) {
+        BrowserType browserType;
+        switch (browserName.toLowerCase()) {
+            case "chrome":
+            case "edge":
+                browserType = playwright.chromium();
+                break;
+            case "firefox":
+                browserType = playwright.firefox();
+                break;
+            case "safari":
+                browserType = playwright.webkit();
+                break;
+            default:
+                return null;
+        }
+
+        List<String> candidates = orderedEndpoints();
+        PlaywrightException lastErr = null;
+        for (String endpoint : candidates) {
+            try {
+                Browser browser = browserType.connect(endpoint, new BrowserType.ConnectOptions()
+                        .setSlowMo(ConfigurationManager.configuration().slowMotion())
+                        .setTimeout(ConfigurationManager.configuration().timeout()));
+                AtomicInteger open = openConnections.computeIfAbsent(endpoint, k -> new AtomicInteger());
+                open.incrementAndGet();
+                browser.onDisconnected(b -> open.decrementAndGet());
+                RunStats.increment(CONNECT);
+                TestLog.info("Connected to the remote browser at {}", endpoint);
+                return browser;
+            } catch (PlaywrightException e) {
+                RunStats.increment(CONNECT_FAILED);
+                TestLog.error("Unable to connect to the remote browser at {} : {}", endpoint, e.getMessage());
+                lastErr = e;
+            }
+        }
+        throw new PlaywrightException("No remote browser could be connected from " + candidates
+                + (lastErr != null ? " | last error: " + lastErr.getMessage() : ""));
+    }
+
+    /**
+     * Orders the endpoints by the configured strategy, the first one is the preferred endpoint
+     */
+    private static List<String> orderedEndpoints() {
+        List<String> endpoints = endpoints();
+        if (endpoints.isEmpty()) {
+            throw new PlaywrightException("target is remote but no endpoint is configured in grid.url");
+        }
+        List<String> ordered = new ArrayList<String>(endpoints);
+        String strategy = ConfigurationManager.configuration().gridStrategy();
+        if ("least-loaded".equalsIgnoreCase(strategy)) {
+            ordered.sort((a, b) -> Integer.compare(load(a), load(b)));
+        } else {
+            int start = Math.floorMod(next.getAndIncrement(), ordered.size());
+            for (int i = 0; i < start; i++) {
+                ordered.add(ordered.remove(0));
+            }
+        }
+        return ordered;
+    }
+
+    private static int load(String endpoint) {
+        AtomicInteger open = openConnections.get(endpoint);
+        return open == null ? 0 : open.get();
+    }
+
+    private static List<String> endpoints() {
+        List<String> endpoints = new ArrayList<String>();
+        String urls = ConfigurationManager.configuration().gridUrl();
+        String port = ConfigurationManager.configuration().gridPort();
+        if (urls == null) return endpoints;
+        for (String raw : urls.split(",")) {
+            String url = raw.trim();
+            if (url.isEmpty()) continue;
+            if (!url.contains("://")) url = "ws://" + url;
+            // append the default port when the host has none
+            int hostStart = url.indexOf("://") + 3;
+            int hostEnd = url.indexOf('/', hostStart) < 0 ? url.length() : url.indexOf('/', hostStart);
+            if (!url.substring(hostStart, hostEnd).contains(":") && port != null && !port.isBlank()) {
+                url = url.substring(0, hostEnd) + ":" + port.trim() + url.substring(hostEnd);
+            }
+            endpoints.add(url);
+        }
+        return endpoints;
+    }
+
+}
@@ -0,0 +1,187 @@
+package com.ui.base;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.config.ConfigurationManager;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.options.WaitForSelectorState;
+import com.ui.utilities.RunStats;
+import com.ui.utilities.TestLog;
+
+/**
+ * Caches the login state (storage state) of every user tier in storage/&lt;tier&gt;.json.
+ * The tiers are logged in once, in parallel, at the start of the suite and the contexts are seeded
+ * with the cached state until it expires (session.ttl.minutes).
+ * A session is refreshed in place when the page no longer shows the logged in element (session.logged.in.locator).
+ */
+public class SessionCache {
+
+    public static final String LOGIN = "session.login";
+    public static final String REUSED = "session.reused";
+    public static final String REFRESHED = "session.refreshed";
+
+    private static final String STORAGE_FOLDER = "storage";
+
+    private SessionCache() {
+    }
+
+    /**
+     * Performs the UI login on the given page
+     */
+    public interface LoginFlow {
+        void login(Page page, String userName, String password);
+    }
+
+    /**
+     * Logs in every tier that has no fresh session yet, each on its own thread and browser.
+     *
+     * @param credentials The user name and password by tier
+     * @param flow        The UI login steps
+     * @param browserName The accepted browsers are chrome, edge, firefox, safari (webkit)
+     */
+    public static void warmUp(Map<String, String[]> credentials, LoginFlow flow, String browserName) {
+        List<Callable<Void>> logins = new ArrayList<Callable<Void>>();
+        credentials.forEach((tier, userAndPassword) -> {
+            if (isFresh(tier)) return;
+            logins.add(() -> {
+                loginInNewBrowser(tier, userAndPassword[0], userAndPassword[1], flow, browserName);
+                return null;
+            });
+        });
+        if (logins.isEmpty()) return;
+
+        ExecutorService executor = Executors.newFixedThreadPool(logins.size());
+        try {
+            for (Future<Void> login : executor.invokeAll(logins, ConfigurationManager.configuration().pauseHigh(), TimeUnit.MILLISECONDS)) {
+                try {
+                    login.get();
+                } catch (Exception e) {
+                    TestLog.error("Unable to cache the login session : {}", e.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @param tier The user tier (Tier1Admin ... Tier3EndUser)
+     * @return the cached storage state of the tier, or null when there is no fresh one
+     */
+    public static Path storageStateFor(String tier) {
+        if (!isFresh(tier)) return null;
+        RunStats.increment(REUSED);
+        return storagePath(tier);
+    }
+
+    /**
+     * Opens session.check.url (an authenticated page) and looks for the element only shown to a logged in user.
+     * Without a check URL nothing is checked: the login page (url.staging) is loaded whether the session is valid
+     * or not, so it tells nothing.
+     *
+     * @return true if the session of the page expired (always false when session.check.url or
+     * session.logged.in.locator is empty)
+     */
+    public static boolean isExpired(Page page) {
+        String locator = ConfigurationManager.configuration().sessionLoggedInLocator();
+        String checkUrl = ConfigurationManager.configuration().sessionCheckUrl();
+        if (locator == null || locator.isBlank() || checkUrl == null || checkUrl.isBlank()) return false;
+        page.navigate(checkUrl);
+        try {
+            page.locator(locator).first().waitFor(new Locator.WaitForOptions()
+                    .setState(WaitForSelectorState.VISIBLE)
+                    .setTimeout(ConfigurationManager.configuration().pauseMedium()));
+            return false;
+        } catch (PlaywrightException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Logs in again on the given page (from url.staging) and replaces the cached session of the tier.
+     *
+     * @param page The page whose session expired
+     */
+    public static void refresh(Page page, String tier, String userName, String password, LoginFlow flow) {
+        page.navigate(ConfigurationManager.configuration().baseStagingUrl());
+        login(page, userName, password, flow);
+        save(page.context(), tier);
+        RunStats.increment(REFRESHED);
+    }
+
+    private static boolean isFresh(String tier) {
+        Path path = storagePath(tier);
+        try {
+            long ageMillis = System.currentTimeMillis() - Files.getLastModifiedTime(path).toMillis();
+            return ageMillis < TimeUnit.MINUTES.toMillis(ConfigurationManager.configuration().sessionTtlMinutes());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static Path storagePath(String tier) {
+        return Paths.get(STORAGE_FOLDER, tier + ".json");
+    }
+
+    private static void loginInNewBrowser(String tier, String userName, String password, LoginFlow flow, String browserName) {
+        try (Playwright playwright = Playwright.create()) {
+            Browser browser = BrowserPool.launch(playwright, browserName, ConfigurationManager.configuration().headless());
+            BrowserContext context = browser.newContext(new Browser.NewContextOptions().setIgnoreHTTPSErrors(true));
+            context.setDefaultNavigationTimeout(ConfigurationManager.configuration().timeout());
+            Page page = context.newPage();
+            page.setDefaultTimeout(ConfigurationManager.configuration().timeout());
+            page.navigate(ConfigurationManager.configuration().baseStagingUrl());
+            login(page, userName, password, flow);
+            save(context, tier);
+            TestLog.info("The login session of {} is cached", tier);
+        }
+    }
+
+    private static void login(Page page, String userName, String password, LoginFlow flow) {
+        flow.login(page, userName, password);
+        // the storage state is saved once the application shows the logged in user
+        String locator = ConfigurationManager.configuration().sessionLoggedInLocator();
+        if (locator != null && !locator.isBlank()) {
+            page.locator(locator).first().waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE));
+        } else {
+            page.waitForLoadState();
+        }
+        RunStats.increment(LOGIN);
+    }
+
+    /**
+     * Writes the storage state through a temporary file, so a parallel reader never sees a partial file
+     */
+    private static void save(BrowserContext context, String tier) {
+        Path path = storagePath(tier);
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), tier, ".tmp");
+            Files.write(temp, context.storageState().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new PlaywrightException("Unable to store the login session of " + tier + " : " + e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.ui.base;
+
+/**
+ * How an action waits for the page to be stable before the next step
+ * (see PlaywrightWrapper.settle).
+ */
+public enum SettleStrategy {
+
+    /** Do not wait at all */
+    NONE,
+    /** Wait until the document of the current URL is committed and parsed (DOMContentLoaded) */
+    URL_COMMIT,
+    /** Wait until the DOM had no mutation for settle.quiet.ms (MutationObserver in the page) */
+    DOM_QUIET,
+    /** Wait for the network to be idle, capped at settle.max.ms */
+    NETWORK_IDLE;
+
+    /**
+     * @param value none, url-commit, dom-quiet or network-idle (case insensitive)
+     * @return the matching strategy, DOM_QUIET when the value is empty or unknown
+     */
+    public static SettleStrategy from(String value) {
+        if (value == null || value.isBlank()) return DOM_QUIET;
+        String normalized = value.trim().toUpperCase().replace('-', '_');
+        for (SettleStrategy strategy : values()) {
+            if (strategy.name().equals(normalized)) return strategy;
+        }
+        return DOM_QUIET;
+    }
+
+}
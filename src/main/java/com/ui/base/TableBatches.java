@@ -0,0 +1,204 @@
+package com.ui.base;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.config.ConfigurationManager;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.ui.utilities.RunStats;
+
+/**
+ * Streams a paginated or virtualized table as a sequence of snapshots, one per page or scroll window,
+ * so only the current batch of rows is kept in memory. The rows already seen in the previous scroll window
+ * are dropped: by aria-rowindex (the rows up to the highest index read), else by their texts (the previous window only).
+ * A walk that stops before the last page (table.paging.max.batches reached, a page that did not load)
+ * is incomplete, see {@link #getIncomplete()}.
+ */
+public class TableBatches implements Iterator<TableSnapshot> {
+
+    public static final String BATCHES = "table.stream.batches";
+    public static final String EARLY_STOP = "table.stream.early.stop";
+    public static final String INCOMPLETE = "table.stream.incomplete";
+
+    private final Page page;
+    private final Locator table;
+    private final TablePaging paging;
+    private final Runnable settle;
+    private Set<String> previousWindow = Collections.emptySet();
+    private int lastRowIndex = -1;
+
+    private int batches = 0;
+    private boolean pending = false;
+    private boolean exhausted = false;
+    private String incomplete;
+
+    /**
+     * @param page   The page of the table
+     * @param table  The (visible) table element
+     * @param paging How to reach the next batch of rows
+     * @param settle The wait for the table to render after a page or scroll change
+     */
+    public TableBatches(Page page, Locator table, TablePaging paging, Runnable settle) {
+        this.page = page;
+        this.table = table;
+        this.paging = paging;
+        this.settle = settle;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (exhausted) return false;
+        if (pending) return true;
+        if (batches > 0 && batches >= paging.getMaxBatches()) {
+            exhausted = true;
+            if (hasMoreRows()) {
+                stopIncomplete("table.paging.max.batches (" + paging.getMaxBatches() + ") reached before the last "
+                        + (paging.getMode() == TablePaging.Mode.SCROLL ? "scroll window" : "page"));
+            }
+            return false;
+        }
+        if (batches > 0 && !advance()) {
+            exhausted = true;
+            return false;
+        }
+        pending = true;
+        return true;
+    }
+
+    @Override
+    public TableSnapshot next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more rows in the table");
+        }
+        pending = false;
+        batches++;
+        RunStats.increment(BATCHES);
+        TableSnapshot snapshot = TableSnapshot.capture(table);
+        if (paging.getMode() != TablePaging.Mode.SCROLL) return snapshot;
+
+        // the windows overlap by a few rows: drop the ones read in the previous window
+        int readUpTo = lastRowIndex;
+        Set<String> window = new HashSet<String>();
+        TableSnapshot fresh = snapshot.select(r -> {
+            int index = snapshot.rowIndex(r);
+            if (index >= 0) {
+                lastRowIndex = Math.max(lastRowIndex, index);
+                return index > readUpTo;
+            }
+            String key = snapshot.rowKey(r);
+            window.add(key);
+            return !previousWindow.contains(key);
+        });
+        previousWindow = window;
+        return fresh;
+    }
+
+    /**
+     * @return why the walk stopped before the last page or scroll window, null when every row was read
+     * (or the walk was stopped on purpose, see {@link #stopEarly()})
+     */
+    public String getIncomplete() {
+        return incomplete;
+    }
+
+    /**
+     * @return the number of batches read so far
+     */
+    public int getBatches() {
+        return batches;
+    }
+
+    /**
+     * Use this method to count an assertion that was decided before the last batch
+     */
+    public void stopEarly() {
+        if (!exhausted && paging.getMode() != TablePaging.Mode.NONE) {
+            RunStats.increment(EARLY_STOP);
+        }
+        exhausted = true;
+    }
+
+    private boolean advance() {
+        switch (paging.getMode()) {
+            case NEXT_BUTTON:
+                return nextPage();
+            case SCROLL:
+                return scrollWindow();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return true if the table has a page or a scroll window after the current one
+     */
+    private boolean hasMoreRows() {
+        try {
+            switch (paging.getMode()) {
+                case NEXT_BUTTON:
+                    return nextButtonActive(page.locator(paging.getSelector()).first());
+                case SCROLL:
+                    return Boolean.TRUE.equals(page.locator(paging.getSelector()).first().evaluate(
+                            "el => el.scrollTop + el.clientHeight < el.scrollHeight"));
+                default:
+                    return false;
+            }
+        } catch (PlaywrightException e) {
+            // unknown, the rows after the limit may exist
+            return true;
+        }
+    }
+
+    private static boolean nextButtonActive(Locator next) {
+        return next.count() > 0 && next.isVisible() && next.isEnabled()
+                && !"true".equalsIgnoreCase(next.getAttribute("aria-disabled"));
+    }
+
+    private void stopIncomplete(String reason) {
+        incomplete = reason;
+        RunStats.increment(INCOMPLETE);
+    }
+
+    private boolean nextPage() {
+        Locator next = page.locator(paging.getSelector()).first();
+        try {
+            if (!nextButtonActive(next)) {
+                return false;
+            }
+            String before = firstRowText();
+            next.click();
+            // the page changed once the first row is a different one
+            page.waitForCondition(() -> !before.equals(firstRowText()),
+                    new Page.WaitForConditionOptions().setTimeout(ConfigurationManager.configuration().pauseMedium()));
+            settle.run();
+            return true;
+        } catch (PlaywrightException e) {
+            stopIncomplete("page " + (batches + 1) + " did not load: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean scrollWindow() {
+        try {
+            Object moved = page.locator(paging.getSelector()).first().evaluate(
+                    "el => { const top = el.scrollTop; el.scrollTop = top + el.clientHeight; return el.scrollTop > top; }");
+            if (!Boolean.TRUE.equals(moved)) return false;
+            settle.run();
+            return true;
+        } catch (PlaywrightException e) {
+            stopIncomplete("scroll window " + (batches + 1) + " did not load: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private String firstRowText() {
+        Locator first = table.locator("tbody tr").first();
+        return first.count() == 0 ? "" : String.valueOf(first.textContent());
+    }
+
+}
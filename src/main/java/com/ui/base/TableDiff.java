@@ -0,0 +1,334 @@
+package com.ui.base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.ui.base.PlaywrightWrapper.FilterCondition;
+
+/**
+ * Compares a whole table (or the rows that meet the filters) with an expected dataset in one pass.
+ * With key columns the rows are paired through a hash map of their keys (linear in the number of rows),
+ * without keys they are paired by position. The table can be fed batch by batch (see TableBatches).
+ */
+public class TableDiff {
+
+    /**
+     * What is compared and how
+     */
+    public static class Options {
+        private List<String> keyColumns = Collections.emptyList();
+        private Set<String> ignoredColumns = Collections.emptySet();
+        private List<FilterCondition> filters = Collections.emptyList();
+        private String matchType = "exact";
+        private int maxReported = 10;
+
+        /**
+         * @param columns The headers of the columns that identify a row (exact, case insensitive)
+         */
+        public Options keys(String... columns) {
+            this.keyColumns = Arrays.asList(columns);
+            return this;
+        }
+
+        /**
+         * @param columns The headers of the columns that are not compared
+         */
+        public Options ignore(String... columns) {
+            this.ignoredColumns = new HashSet<String>();
+            for (String column : columns) ignoredColumns.add(TableSnapshot.normalize(column));
+            return this;
+        }
+
+        /**
+         * @param filters The conditions a table row has to meet to be compared
+         */
+        public Options filter(List<FilterCondition> filters) {
+            this.filters = filters == null ? Collections.<FilterCondition>emptyList() : filters;
+            return this;
+        }
+
+        /**
+         * @param matchType "exact" (default) | "includes", for the compared (non key) cells
+         */
+        public Options matchType(String matchType) {
+            this.matchType = matchType == null || matchType.isBlank() ? "exact" : matchType.toLowerCase();
+            return this;
+        }
+
+        /**
+         * @param maxReported The number of differences listed per kind (all of them are counted)
+         */
+        public Options maxReported(int maxReported) {
+            this.maxReported = Math.max(1, maxReported);
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return "keys=" + keyColumns + ", ignored=" + ignoredColumns + ", filters=" + filters.size() + ", match=" + matchType;
+        }
+    }
+
+    private final Options options;
+    private final List<String> expectedHeaders;
+    private final List<String[]> expectedRows;
+    private final Map<String, Integer> expectedByKey = new HashMap<String, Integer>();
+    private final boolean[] seen;
+    private final List<String> problems = new ArrayList<String>();
+
+    private int[] expectedKeyIdx;
+    private int[] comparedExpectedIdx;
+    private int[] comparedActualIdx;
+    private int[] actualKeyIdx;
+    private int[] filterIdx;
+
+    private int position = 0;
+    private int compared = 0;
+    private int mismatchedCells = 0;
+    private int mismatchedRows = 0;
+    private int unexpectedRows = 0;
+    private int duplicateKeys = 0;
+    private final Map<String, List<String>> samples = new LinkedHashMap<String, List<String>>();
+
+    /**
+     * @param dataset The expected table, header first (see DatasetReader)
+     * @param options The key, ignored and filter columns
+     */
+    public TableDiff(List<String[]> dataset, Options options) {
+        if (dataset == null || dataset.isEmpty()) {
+            throw new IllegalArgumentException("The expected dataset has no header row");
+        }
+        this.options = options;
+        this.expectedHeaders = Arrays.asList(dataset.get(0));
+        this.expectedRows = dataset.subList(1, dataset.size());
+        this.seen = new boolean[expectedRows.size()];
+
+        expectedKeyIdx = new int[options.keyColumns.size()];
+        for (int k = 0; k < expectedKeyIdx.length; k++) {
+            expectedKeyIdx[k] = TableSnapshot.columnIndex(options.keyColumns.get(k), expectedHeaders);
+            if (expectedKeyIdx[k] < 0) {
+                problems.add("key column '" + options.keyColumns.get(k) + "' not in the dataset " + expectedHeaders);
+            }
+        }
+        if (problems.isEmpty() && expectedKeyIdx.length > 0) {
+            for (int r = 0; r < expectedRows.size(); r++) {
+                if (expectedByKey.putIfAbsent(key(expectedRows.get(r), expectedKeyIdx), r) != null) {
+                    problems.add("duplicate key " + key(expectedRows.get(r), expectedKeyIdx) + " in the dataset");
+                }
+            }
+        }
+    }
+
+    /**
+     * Use this method to compare the next batch of table rows
+     *
+     * @param batch The rows of the table (the first batch also gives the headers)
+     */
+    public void accept(TableSnapshot batch) {
+        if (!problems.isEmpty()) return;
+        if (comparedActualIdx == null && !mapColumns(batch.headers())) return;
+
+        for (int r = 0; r < batch.rowCount(); r++) {
+            if (!meetsFilters(batch, r)) continue;
+            String[] actual = new String[batch.headers().size()];
+            for (int c = 0; c < actual.length; c++) actual[c] = batch.cell(r, c);
+
+            int expectedRow;
+            String label;
+            if (actualKeyIdx.length > 0) {
+                label = key(actual, actualKeyIdx);
+                Integer found = expectedByKey.get(label);
+                if (found == null) {
+                    unexpectedRows++;
+                    sample("unexpected rows", "row " + label);
+                    continue;
+                }
+                expectedRow = found;
+            } else {
+                expectedRow = position;
+                label = "#" + (position + 1);
+                if (expectedRow >= expectedRows.size()) {
+                    unexpectedRows++;
+                    sample("unexpected rows", "row " + label + " " + Arrays.toString(actual));
+                    position++;
+                    continue;
+                }
+            }
+            position++;
+            if (seen[expectedRow]) {
+                duplicateKeys++;
+                sample("duplicate rows", "row " + label);
+                continue;
+            }
+            seen[expectedRow] = true;
+            compareRow(label, expectedRows.get(expectedRow), actual);
+        }
+    }
+
+    /**
+     * @return the outcome of the comparison once all the batches are fed
+     */
+    public Result finish() {
+        int missing = 0;
+        if (problems.isEmpty()) {
+            for (int r = 0; r < seen.length; r++) {
+                if (!seen[r]) {
+                    missing++;
+                    String[] row = expectedRows.get(r);
+                    sample("missing rows", "row " + (expectedKeyIdx.length > 0 ? key(row, expectedKeyIdx) : "#" + (r + 1) + " " + Arrays.toString(row)));
+                }
+            }
+        }
+        return new Result(problems, compared, expectedRows.size(), missing, unexpectedRows, duplicateKeys,
+                mismatchedRows, mismatchedCells, samples);
+    }
+
+    private boolean mapColumns(List<String> actualHeaders) {
+        actualKeyIdx = new int[expectedKeyIdx.length];
+        for (int k = 0; k < actualKeyIdx.length; k++) {
+            actualKeyIdx[k] = TableSnapshot.columnIndex(options.keyColumns.get(k), actualHeaders);
+            if (actualKeyIdx[k] < 0) problems.add("key column '" + options.keyColumns.get(k) + "' not in the table " + actualHeaders);
+        }
+        filterIdx = new int[options.filters.size()];
+        for (int f = 0; f < filterIdx.length; f++) {
+            filterIdx[f] = TableSnapshot.columnIndex(options.filters.get(f).column, actualHeaders);
+            if (filterIdx[f] < 0) problems.add("filter column '" + options.filters.get(f).column + "' not in the table " + actualHeaders);
+        }
+
+        List<Integer> expectedIdx = new ArrayList<Integer>();
+        List<Integer> actualIdx = new ArrayList<Integer>();
+        for (int e = 0; e < expectedHeaders.size(); e++) {
+            String header = expectedHeaders.get(e);
+            if (options.ignoredColumns.contains(TableSnapshot.normalize(header)) || options.keyColumns.stream()
+                    .anyMatch(k -> TableSnapshot.normalize(k).equals(TableSnapshot.normalize(header)))) {
+                continue;
+            }
+            int a = TableSnapshot.columnIndex(header, actualHeaders);
+            if (a < 0) {
+                problems.add("column '" + header + "' not in the table " + actualHeaders);
+                continue;
+            }
+            expectedIdx.add(e);
+            actualIdx.add(a);
+        }
+        comparedExpectedIdx = expectedIdx.stream().mapToInt(Integer::intValue).toArray();
+        comparedActualIdx = actualIdx.stream().mapToInt(Integer::intValue).toArray();
+        return problems.isEmpty();
+    }
+
+    private boolean meetsFilters(TableSnapshot batch, int row) {
+        for (int f = 0; f < filterIdx.length; f++) {
+            FilterCondition fc = options.filters.get(f);
+            if (!TableSnapshot.matches(batch.cell(row, filterIdx[f]), fc.value, fc.matchType)) return false;
+        }
+        return true;
+    }
+
+    private void compareRow(String label, String[] expected, String[] actual) {
+        compared++;
+        boolean rowMismatch = false;
+        for (int i = 0; i < comparedExpectedIdx.length; i++) {
+            int e = comparedExpectedIdx[i];
+            int a = comparedActualIdx[i];
+            String want = e < expected.length ? expected[e] : null;
+            String got = a < actual.length ? actual[a] : null;
+            if (!TableSnapshot.matches(got, want, options.matchType)) {
+                mismatchedCells++;
+                rowMismatch = true;
+                sample("cell differences", "row " + label + " '" + expectedHeaders.get(e) + "': expected '" + want + "' but was '"
+                        + (got == null ? null : got.trim()) + "'");
+            }
+        }
+        if (rowMismatch) mismatchedRows++;
+    }
+
+    private void sample(String kind, String line) {
+        List<String> lines = samples.computeIfAbsent(kind, k -> new ArrayList<String>());
+        if (lines.size() < options.maxReported) lines.add(line);
+    }
+
+    private static String key(String[] row, int[] keyIdx) {
+        StringBuilder key = new StringBuilder("[");
+        for (int k = 0; k < keyIdx.length; k++) {
+            if (k > 0) key.append(" | ");
+            key.append(TableSnapshot.normalize(keyIdx[k] < row.length ? row[keyIdx[k]] : null));
+        }
+        return key.append("]").toString();
+    }
+
+    /**
+     * The counts of the differences and the first differences of every kind
+     */
+    public static class Result {
+        private final List<String> problems;
+        private final int comparedRows;
+        private final int expectedRows;
+        private final int missingRows;
+        private final int unexpectedRows;
+        private final int duplicateRows;
+        private final int mismatchedRows;
+        private final int mismatchedCells;
+        private final Map<String, List<String>> samples;
+
+        Result(List<String> problems, int comparedRows, int expectedRows, int missingRows, int unexpectedRows,
+               int duplicateRows, int mismatchedRows, int mismatchedCells, Map<String, List<String>> samples) {
+            this.problems = problems;
+            this.comparedRows = comparedRows;
+            this.expectedRows = expectedRows;
+            this.missingRows = missingRows;
+            this.unexpectedRows = unexpectedRows;
+            this.duplicateRows = duplicateRows;
+            this.mismatchedRows = mismatchedRows;
+            this.mismatchedCells = mismatchedCells;
+            this.samples = samples;
+        }
+
+        /**
+         * @return true if the table matches the dataset
+         */
+        public boolean isMatch() {
+            return problems.isEmpty() && missingRows == 0 && unexpectedRows == 0 && duplicateRows == 0 && mismatchedCells == 0;
+        }
+
+        /**
+         * @param lineBreak The separator of the lines ("<br>" for the report)
+         * @return the counts followed by the first differences of every kind
+         */
+        public String summary(String lineBreak) {
+            StringBuilder summary = new StringBuilder();
+            if (!problems.isEmpty()) {
+                summary.append("cannot compare: ").append(String.join("; ", problems));
+                return summary.toString();
+            }
+            summary.append(comparedRows).append("/").append(expectedRows).append(" expected rows compared, ")
+                    .append(mismatchedRows).append(" rows with ").append(mismatchedCells).append(" cell differences, ")
+                    .append(missingRows).append(" missing, ").append(unexpectedRows).append(" unexpected, ")
+                    .append(duplicateRows).append(" duplicate");
+            samples.forEach((kind, lines) -> {
+                summary.append(lineBreak).append(kind).append(":");
+                lines.forEach(line -> summary.append(lineBreak).append("  ").append(line));
+            });
+            return summary.toString();
+        }
+
+        public int getMismatchedCells() {
+            return mismatchedCells;
+        }
+
+        public int getMissingRows() {
+            return missingRows;
+        }
+
+        public int getUnexpectedRows() {
+            return unexpectedRows;
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.ui.base;
+
+import com.config.ConfigurationManager;
+
+/**
+ * How the table assertions reach the rows that are not in the DOM yet:
+ * none (only the rendered rows), a next-page button or a scrolling (virtualized) container.
+ */
+public class TablePaging {
+
+    public enum Mode {
+        NONE, NEXT_BUTTON, SCROLL
+    }
+
+    private final Mode mode;
+    private final String selector;
+    private final int maxBatches;
+
+    private TablePaging(Mode mode, String selector, int maxBatches) {
+        this.mode = mode;
+        this.selector = selector;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * @return the paging of a plain table, only the rendered rows are read
+     */
+    public static TablePaging none() {
+        return new TablePaging(Mode.NONE, null, 1);
+    }
+
+    /**
+     * @param nextButtonLocator The locator of the "next page" button, paging stops when it is hidden or disabled
+     * @return the paging that clicks through the pages (up to table.paging.max.batches pages)
+     */
+    public static TablePaging nextButton(String nextButtonLocator) {
+        return new TablePaging(Mode.NEXT_BUTTON, nextButtonLocator, ConfigurationManager.configuration().tablePagingMaxBatches());
+    }
+
+    /**
+     * @param containerLocator The locator of the scrolling element that renders the visible window of rows
+     * @return the paging that scrolls the container one window at a time (up to table.paging.max.batches windows)
+     */
+    public static TablePaging scroll(String containerLocator) {
+        return new TablePaging(Mode.SCROLL, containerLocator, ConfigurationManager.configuration().tablePagingMaxBatches());
+    }
+
+    /**
+     * @param maxBatches The maximum number of pages or scroll windows to read
+     * @return a copy of this paging with the given limit
+     */
+    public TablePaging maxBatches(int maxBatches) {
+        return new TablePaging(mode, selector, Math.max(1, maxBatches));
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public String getSelector() {
+        return selector;
+    }
+
+    public int getMaxBatches() {
+        return maxBatches;
+    }
+
+    @Override
+    public String toString() {
+        return mode == Mode.NONE ? "none" : mode.name().toLowerCase() + "(" + selector + ", max " + maxBatches + ")";
+    }
+
+}
@@ -0,0 +1,205 @@
+package com.ui.base;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import com.microsoft.playwright.Locator;
+import com.ui.utilities.RunStats;
+
+/**
+ * The headers and the cell texts of an HTML table, read in a single evaluate call and kept column by column,
+ * so the table assertions run locally instead of making one driver round trip per cell.
+ * A header is its innerText (like allInnerTexts) and a cell is its textContent (like Locator.textContent).
+ */
+public class TableSnapshot {
+
+    public static final String CAPTURED = "table.snapshot.count";
+    public static final String ROUND_TRIPS_SAVED = "table.snapshot.roundtrips.saved";
+
+    /**
+     * Returns { headers: [...], rows: [[...]] } where a row holds the textContent of every child element
+     * (null for the children that are not a td, so the column index matches td:nth-child)
+     * and keys holds the aria-rowindex of every row (set by virtualized grids)
+     */
+    private static final String CAPTURE_SCRIPT = "table => ({"
+            + " headers: Array.from(table.querySelectorAll('thead th, thead td')).map(h => h.innerText),"
+            + " rows: Array.from(table.querySelectorAll('tbody tr')).map(tr =>"
+            + "   Array.from(tr.children).map(c => c.tagName === 'TD' ? c.textContent : null)),"
+            + " keys: Array.from(table.querySelectorAll('tbody tr')).map(tr => tr.getAttribute('aria-rowindex'))"
+            + "})";
+
+    private final List<String> headers;
+    private final String[][] columns;
+    private final String[] keys;
+    private final int rowCount;
+
+    private TableSnapshot(List<String> headers, String[][] columns, String[] keys, int rowCount) {
+        this.headers = headers;
+        this.columns = columns;
+        this.keys = keys;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Use this method to read the whole table in one round trip
+     *
+     * @param table The (visible) table element
+     * @return the snapshot of the table
+     */
+    @SuppressWarnings("unchecked")
+    public static TableSnapshot capture(Locator table) {
+        Map<String, Object> raw = (Map<String, Object>) table.evaluate(CAPTURE_SCRIPT);
+        List<String> headers = new ArrayList<String>();
+        for (Object header : (List<Object>) raw.get("headers")) {
+            headers.add(header == null ? "" : header.toString());
+        }
+
+        List<Object> rows = (List<Object>) raw.get("rows");
+        int columnCount = headers.size();
+        for (Object row : rows) {
+            columnCount = Math.max(columnCount, ((List<Object>) row).size());
+        }
+        String[][] columns = new String[columnCount][rows.size()];
+        String[] keys = new String[rows.size()];
+        List<Object> rowKeys = (List<Object>) raw.get("keys");
+        for (int r = 0; r < rows.size(); r++) {
+            Object key = rowKeys == null ? null : rowKeys.get(r);
+            keys[r] = key == null ? null : key.toString();
+            List<Object> cells = (List<Object>) rows.get(r);
+            for (int c = 0; c < cells.size(); c++) {
+                Object cell = cells.get(c);
+                columns[c][r] = cell == null ? null : cell.toString();
+            }
+        }
+        RunStats.increment(CAPTURED);
+        return new TableSnapshot(Collections.unmodifiableList(headers), columns, keys, rows.size());
+    }
+
+    /**
+     * @param keep Tells for a row index whether the row is kept
+     * @return a snapshot with the kept rows only (same headers and columns)
+     */
+    public TableSnapshot select(IntPredicate keep) {
+        int[] kept = IntStream.range(0, rowCount).filter(keep).toArray();
+        String[][] selected = new String[columns.length][kept.length];
+        String[] selectedKeys = new String[kept.length];
+        for (int i = 0; i < kept.length; i++) {
+            for (int c = 0; c < columns.length; c++) {
+                selected[c][i] = columns[c][kept[i]];
+            }
+            selectedKeys[i] = keys[kept[i]];
+        }
+        return new TableSnapshot(headers, selected, selectedKeys, kept.length);
+    }
+
+    /**
+     * @param row 0-based row index
+     * @return the aria-rowindex of the row, -1 when it is not set
+     */
+    public int rowIndex(int row) {
+        if (keys[row] == null) return -1;
+        try {
+            return Integer.parseInt(keys[row].trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @param row 0-based row index
+     * @return the identity of the row: its aria-rowindex when set, else its cell texts
+     */
+    public String rowKey(int row) {
+        if (keys[row] != null) return "#" + keys[row];
+        StringBuilder key = new StringBuilder();
+        for (String[] column : columns) {
+            key.append(column[row]).append('\u0001');
+        }
+        return key.toString();
+    }
+
+    public List<String> headers() {
+        return headers;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @param row    0-based row index (tbody tr)
+     * @param column 0-based column index
+     * @return the textContent of the cell or null when the row has no td at that position
+     */
+    public String cell(int row, int column) {
+        if (column < 0 || column >= columns.length) return null;
+        return columns[column][row];
+    }
+
+    /**
+     * @param column 0-based column index
+     * @return the cells of the column, top to bottom (null for the rows without a td at that position)
+     */
+    public List<String> column(int column) {
+        if (column < 0 || column >= columns.length) return Collections.nCopies(rowCount, null);
+        List<String> values = new ArrayList<String>(rowCount);
+        Collections.addAll(values, columns[column]);
+        return values;
+    }
+
+    /**
+     * @param headerOrIndex The header text (case insensitive) or the 1-based column index
+     * @param headers       The headers of the table
+     * @return the 0-based column index or -1 when there is no such column
+     */
+    public static int columnIndex(String headerOrIndex, List<String> headers) {
+        if (headerOrIndex == null) return -1;
+        String trimmed = headerOrIndex.trim();
+        // numeric? treat as 1-based index
+        try {
+            int asNum = Integer.parseInt(trimmed);
+            return (asNum >= 1 && asNum <= headers.size()) ? (asNum - 1) : -1;
+        } catch (NumberFormatException ignore) { /* not a number */ }
+        // match by header text (case-insensitive, trimmed)
+        String wanted = trimmed.toLowerCase();
+        for (int i = 0; i < headers.size(); i++) {
+            if (headers.get(i).trim().toLowerCase().equals(wanted)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @param matchType "exact" or "includes" (default), both trimmed and case insensitive
+     * @return true if the actual text matches the expected one
+     */
+    public static boolean matches(String actual, String expected, String matchType) {
+        String a = normalize(actual);
+        String e = normalize(expected);
+        if ("exact".equalsIgnoreCase(matchType)) return a.equals(e);
+        return a.contains(e); // includes (default)
+    }
+
+    /**
+     * @return the text as compared by the table assertions (trimmed, lower case, "" for null)
+     */
+    public static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase();
+    }
+
+    /**
+     * Use this method to count the round trips the per-cell reads would have needed (the capture itself is one)
+     *
+     * @param perCellReads The driver calls the per-cell implementation makes
+     * @return the round trips saved by this snapshot
+     */
+    public long recordSaved(long perCellReads) {
+        long saved = Math.max(0, perCellReads - 1);
+        RunStats.add(ROUND_TRIPS_SAVED, saved);
+        return saved;
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.ui.base;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.config.ConfigurationManager;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Tracing;
+import com.ui.utilities.ArtifactManager;
+import com.ui.utilities.RunStats;
+import com.ui.utilities.TestLog;
+
+/**
+ * One tracing session per test class (context) with one trace chunk per test method.
+ * Only the chunks of the failed or retried methods are written: the test thread waits for the chunk
+ * to be archived into a temporary file, the file is moved into the traces folder by a background thread.
+ * The other chunks are dropped without being archived.
+ */
+public class TraceChunks {
+
+    public static final String KEPT = "trace.chunks.kept";
+    public static final String DISCARDED = "trace.chunks.discarded";
+    public static final String BYTES = "trace.chunks.bytes";
+
+    private static final ThreadLocal<BrowserContext> traced = new ThreadLocal<BrowserContext>();
+    private static final ExecutorService mover = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "trace-mover");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private TraceChunks() {
+    }
+
+    /**
+     * Starts the tracing session of the class (when enable.tracing is on), it records the first chunk
+     *
+     * @param context The context of the test class
+     * @param title   The title of the trace
+     */
+    public static void start(BrowserContext context, String title) {
+        if (!ConfigurationManager.configuration().enableTracing()) return;
+        context.tracing().start(new Tracing.StartOptions().setName(title).setTitle(title).setSnapshots(true));
+        traced.set(context);
+    }
+
+    /**
+     * @return true if the tracing session of the class is started on this thread
+     */
+    public static boolean isActive() {
+        return traced.get() != null;
+    }
+
+    /**
+     * Use this method before a test method, the running chunk (if any) is dropped
+     */
+    public static void startChunk(String title) {
+        BrowserContext context = traced.get();
+        if (context == null) return;
+        try {
+            context.tracing().startChunk(new Tracing.StartChunkOptions().setTitle(title).setName(title));
+        } catch (PlaywrightException e) {
+            TestLog.error("Unable to start the trace chunk {} : {}", title, e.getMessage());
+        }
+    }
+
+    /**
+     * Use this method after a test method
+     *
+     * @param keep   true to write the chunk (failed or retried method), false to drop it
+     * @param target The trace file of the method
+     */
+    public static void stopChunk(boolean keep, Path target) {
+        BrowserContext context = traced.get();
+        if (context == null) return;
+        try {
+            if (!keep) {
+                context.tracing().stopChunk();
+                RunStats.increment(DISCARDED);
+                return;
+            }
+            Path temp = Files.createTempFile("trace-", ".zip");
+            context.tracing().stopChunk(new Tracing.StopChunkOptions().setPath(temp));
+            RunStats.increment(KEPT);
+            mover.submit(() -> move(temp, target));
+        } catch (IOException | PlaywrightException e) {
+            // a crashed context must not fail the configuration method (and skip the next tests)
+            TestLog.error("Unable to write the trace chunk {} : {}", target, e.getMessage());
+        }
+    }
+
+    /**
+     * Ends the tracing session of the class without writing the running chunk
+     */
+    public static void stop() {
+        BrowserContext context = traced.get();
+        traced.remove();
+        if (context == null) return;
+        try {
+            context.tracing().stop();
+        } catch (PlaywrightException e) {
+            TestLog.error("Unable to stop the tracing : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Use this method at the end of the suite to wait for the trace files being moved
+     */
+    public static void awaitMoves() {
+        try {
+            mover.submit(() -> { }).get(ConfigurationManager.configuration().pauseHigh(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            TestLog.error("The trace chunks are still being moved : {}", e.getMessage());
+        }
+    }
+
+    private static void move(Path temp, Path target) {
+        try {
+            Files.createDirectories(target.getParent());
+            RunStats.add(BYTES, Files.size(temp));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            ArtifactManager.track(target, "trace");
+        } catch (IOException e) {
+            TestLog.error("Unable to move the trace chunk to {} : {}", target, e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.ui.base;
+
+import com.config.ConfigurationManager;
+
+/**
+ * When the browser context records a video and which videos are kept (video.mode).
+ */
+public enum VideoPolicy {
+
+    /** Never record */
+    OFF,
+    /** Record and keep every video */
+    ON,
+    /** Record every class, keep the video of the classes that reported a fail step */
+    RETAIN_ON_FAILURE,
+    /**
+     * Record only on the first re-run (run.attempt = 2, the Jenkinsfile re-runs the failed tests of a suite with it),
+     * keep the video of the classes that failed again
+     */
+    FIRST_RETRY_ONLY;
+
+    /**
+     * @param value off, on, retain-on-failure or first-retry-only (case insensitive)
+     * @return the matching policy, RETAIN_ON_FAILURE when the value is empty or unknown
+     */
+    public static VideoPolicy from(String value) {
+        if (value == null || value.isBlank()) return RETAIN_ON_FAILURE;
+        String normalized = value.trim().toUpperCase().replace('-', '_');
+        for (VideoPolicy policy : values()) {
+            if (policy.name().equals(normalized)) return policy;
+        }
+        return RETAIN_ON_FAILURE;
+    }
+
+    /**
+     * @return the policy of the run (video.mode)
+     */
+    public static VideoPolicy current() {
+        return from(ConfigurationManager.configuration().videoMode());
+    }
+
+    /**
+     * @return true if the contexts of this run record a video
+     */
+    public boolean records() {
+        switch (this) {
+            case ON:
+            case RETAIN_ON_FAILURE:
+                return true;
+            case FIRST_RETRY_ONLY:
+                return ConfigurationManager.configuration().runAttempt() == 2;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param failed true if the class reported a fail step
+     * @return true if the recorded video is kept
+     */
+    public boolean keeps(boolean failed) {
+        return this == ON || (records() && failed);
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.ui.utilities;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import com.config.ConfigurationManager;
+
+/**
+ * The latency of every wrapper action, by action (click, type ...) and by action and locator, recorded into
+ * LatencyHistograms. At the end of the suite the p50 / p90 / p99 / max tables are added to the report
+ * and written as CSV (metrics.file) in the report folder. metrics.enabled = false turns the recording off.
+ * Every public PlaywrightWrapper method that acts on the page or an element is an action. The waits and sleeps
+ * (timed as JFR waits, see FlightEvents), the report steps, the soft / hard assertions on values and the
+ * static helpers are not.
+ */
+public class ActionMetrics {
+
+    public static final String[] HEADER = {"scope", "action", "locator", "count", "p50 ms", "p90 ms", "p99 ms", "max ms", "total ms"};
+
+    private static final Map<String, LatencyHistogram> byAction = new ConcurrentHashMap<String, LatencyHistogram>();
+    private static final Map<String, LatencyHistogram> byLocator = new ConcurrentHashMap<String, LatencyHistogram>();
+
+    private ActionMetrics() {
+    }
+
+    /**
+     * The switch is read once
+     */
+    private static class Switch {
+        static final boolean ENABLED = ConfigurationManager.configuration().metricsEnabled();
+    }
+
+    public static boolean isEnabled() {
+        return Switch.ENABLED;
+    }
+
+    /**
+     * Use this method to record the time taken by an action
+     *
+     * @param action  The wrapper method (click, type, verifyExactText ...)
+     * @param locator The locator, URL or table name the action worked on (may be null)
+     * @param nanos   The time taken by the action
+     */
+    public static void record(String action, String locator, long nanos) {
+        if (!Switch.ENABLED) return;
+        long micros = nanos / 1_000;
+        byAction.computeIfAbsent(action, k -> new LatencyHistogram()).record(micros);
+        if (locator != null) {
+            byLocator.computeIfAbsent(action + '\u0000' + locator, k -> new LatencyHistogram()).record(micros);
+        }
+    }
+
+    /**
+     * @return one row per action, the slowest (total time) first
+     */
+    public static List<String[]> actionRows() {
+        return rows("action", byAction, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param limit The number of rows kept
+     * @return one row per action and locator, the slowest (total time) first
+     */
+    public static List<String[]> locatorRows(int limit) {
+        return rows("locator", byLocator, limit);
+    }
+
+    /**
+     * Use this method to write all the rows (by action, then by action and locator) as CSV
+     */
+    public static void writeCsv(Path path) {
+        if (!Switch.ENABLED || byAction.isEmpty()) return;
+        List<String[]> rows = new ArrayList<String[]>();
+        rows.add(HEADER);
+        rows.addAll(actionRows());
+        rows.addAll(locatorRows(Integer.MAX_VALUE));
+        try {
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                for (String[] row : rows) {
+                    writer.write(Arrays.stream(row).map(ActionMetrics::csv).collect(Collectors.joining(",")));
+                    writer.write(System.lineSeparator());
+                }
+            }
+        } catch (IOException e) {
+            TestLog.error("Unable to write the action latencies : {}", e.getMessage());
+        }
+    }
+
+    private static List<String[]> rows(String scope, Map<String, LatencyHistogram> histograms, int limit) {
+        return new TreeMap<String, LatencyHistogram>(histograms).entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LatencyHistogram> e) -> e.getValue().sumMicros()).reversed())
+                .limit(limit)
+                .map(e -> {
+                    String[] key = e.getKey().split("\u0000", 2);
+                    LatencyHistogram h = e.getValue();
+                    return new String[]{scope, key[0], key.length > 1 ? key[1] : "",
+                            String.valueOf(h.count()), millis(h.percentileMicros(50)), millis(h.percentileMicros(90)),
+                            millis(h.percentileMicros(99)), millis(h.maxMicros()), millis(h.sumMicros())};
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.1f", micros / 1000.0);
+    }
+
+    private static String csv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,326 @@
+package com.ui.utilities;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import com.config.ConfigurationManager;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Keeps the artifact folders (reports, videos, traces) small, on a background thread:
+ * <ul>
+ *     <li>the text files of the report (artifacts.compress.extensions) are gzipped at the end of the suite</li>
+ *     <li>the run folders older than artifacts.retention.days are deleted at the start of the suite, then the oldest
+ *     ones until the artifacts fit in artifacts.retention.max.mb</li>
+ *     <li>the manifest (artifacts.json in the report folder) lists every artifact of the run with its size and hash,
+ *     so the archive step takes only the folders of the run</li>
+ * </ul>
+ */
+public class ArtifactManager {
+
+    public static final String MANIFEST = "artifacts.json";
+    private static final String[] ROOTS = {"reports", "videos", "traces"};
+    private static final String MERGED = "reports/merged";
+
+    public static final String TRACKED = "artifacts.tracked";
+    public static final String COMPRESSED = "artifacts.compressed";
+    public static final String COMPRESSED_SAVED_BYTES = "artifacts.compressed.saved.bytes";
+    public static final String RETENTION_DELETED = "artifacts.retention.deleted";
+    public static final String RETENTION_FREED_BYTES = "artifacts.retention.freed.bytes";
+
+    /**
+     * A run folder modified within this time may belong to a run in progress (a parallel JVM) and is never deleted
+     */
+    private static final long IN_USE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "artifact-manager");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Map<Path, Artifact> tracked = new ConcurrentHashMap<Path, Artifact>();
+
+    private ArtifactManager() {
+    }
+
+    /**
+     * An entry of the manifest
+     */
+    static class Artifact {
+        String path;
+        String kind;
+        long bytes;
+        String sha256;
+    }
+
+    /**
+     * Use this method once a video or a trace is written: it is listed in the manifest with its kind and hash
+     *
+     * @param file The artifact
+     * @param kind video, trace ...
+     */
+    public static void track(Path file, String kind) {
+        worker.submit(() -> hash(file, kind));
+    }
+
+    /**
+     * Use this method at the start of the suite to delete the expired run folders (in the background)
+     *
+     * @param current The folders of this run, never deleted
+     */
+    public static void enforceRetention(Path... current) {
+        worker.submit(() -> retention(current));
+    }
+
+    /**
+     * Use this method at the end of the suite, before the run stats are reported: compresses the text files
+     * of the report and waits (at most pause.high) for the pending work
+     *
+     * @param reportFolder The report folder of the run
+     */
+    public static void compact(Path reportFolder) {
+        worker.submit(() -> compressTextFiles(reportFolder));
+        await("compacted");
+    }
+
+    /**
+     * Use this method once the report is written to disk for the last time (after the final flush),
+     * so the manifest lists the report and its shard with their final size
+     *
+     * @param reportFolder The report folder of the run (the manifest is written there)
+     * @param runFolders   All the folders of the run (report, videos, traces)
+     */
+    public static void finish(Path reportFolder, Path... runFolders) {
+        worker.submit(() -> writeManifest(reportFolder.resolve(MANIFEST), runFolders));
+        await("listed");
+    }
+
+    private static void await(String what) {
+        try {
+            worker.submit(() -> { }).get(ConfigurationManager.configuration().pauseHigh(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            TestLog.error("The artifacts are still being {} : {}", what, e.getMessage());
+        }
+    }
+
+    private static void hash(Path file, String kind) {
+        try {
+            Artifact artifact = new Artifact();
+            artifact.path = file.toString().replace('\\', '/');
+            artifact.kind = kind;
+            artifact.bytes = Files.size(file);
+            artifact.sha256 = sha256(file);
+            RunStats.increment(TRACKED);
+            tracked.put(file.toAbsolutePath().normalize(), artifact);
+        } catch (IOException e) {
+            TestLog.error("Unable to track the artifact {} : {}", file, e.getMessage());
+        }
+    }
+
+    private static void compressTextFiles(Path folder) {
+        Set<String> extensions = extensions();
+        if (extensions.isEmpty() || !Files.isDirectory(folder)) return;
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(folder)) {
+            files = walk.filter(Files::isRegularFile).filter(f -> extensions.contains(extension(f))).collect(Collectors.toList());
+        } catch (IOException e) {
+            TestLog.error("Unable to list the report files : {}", e.getMessage());
+            return;
+        }
+        for (Path file : files) {
+            Path gzip = file.resolveSibling(file.getFileName() + ".gz");
+            // appended as a new gzip member: the next suite of the JVM adds to the same file
+            try (InputStream in = Files.newInputStream(file);
+                 OutputStream out = new GZIPOutputStream(new FileOutputStream(gzip.toFile(), true))) {
+                in.transferTo(out);
+            } catch (IOException e) {
+                TestLog.error("Unable to compress {} : {}", file, e.getMessage());
+                continue;
+            }
+            try {
+                long before = Files.size(file);
+                Files.delete(file);
+                RunStats.increment(COMPRESSED);
+                RunStats.add(COMPRESSED_SAVED_BYTES, Math.max(0, before - Files.size(gzip)));
+            } catch (IOException e) {
+                TestLog.error("Unable to replace {} : {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private static void retention(Path[] current) {
+        Set<Path> protectedFolders = new HashSet<Path>();
+        for (Path folder : current) protectedFolders.add(folder.toAbsolutePath().normalize());
+        protectedFolders.add(Paths.get(MERGED).toAbsolutePath().normalize());
+        Map<Path, Long> runs = new HashMap<Path, Long>();
+        long total = 0;
+        for (String root : ROOTS) {
+            Path rootPath = Paths.get(root);
+            if (!Files.isDirectory(rootPath)) continue;
+            total += size(rootPath);
+            runFolders(rootPath, runs);
+        }
+        runFolders(Paths.get(MERGED), runs);
+        runs.keySet().removeIf(run -> protectedFolders.contains(run.toAbsolutePath().normalize()));
+
+        long now = System.currentTimeMillis();
+        long maxAge = TimeUnit.DAYS.toMillis(ConfigurationManager.configuration().artifactsRetentionDays());
+        long maxBytes = ConfigurationManager.configuration().artifactsRetentionMaxMb() * 1024L * 1024L;
+        List<Path> oldestFirst = runs.entrySet().stream()
+                .filter(run -> now - run.getValue() >= IN_USE_MILLIS)
+                .sorted(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        for (Path run : oldestFirst) {
+            boolean expired = maxAge > 0 && now - runs.get(run) > maxAge;
+            boolean overSize = maxBytes > 0 && total > maxBytes;
+            if (!expired && !overSize) continue;
+            long bytes = size(run);
+            if (delete(run)) {
+                total -= bytes;
+                RunStats.increment(RETENTION_DELETED);
+                RunStats.add(RETENTION_FREED_BYTES, bytes);
+                TestLog.info("Deleted the expired artifacts {} ({} KB)", run, bytes / 1024);
+            }
+        }
+    }
+
+    /**
+     * Adds the run folders (the dated sub folders) of the root with their last modification
+     */
+    private static void runFolders(Path root, Map<Path, Long> runs) {
+        if (!Files.isDirectory(root)) return;
+        try (Stream<Path> children = Files.list(root)) {
+            children.filter(Files::isDirectory).forEach(run -> runs.put(run, lastModified(run)));
+        } catch (IOException e) {
+            TestLog.error("Unable to list {} : {}", root, e.getMessage());
+        }
+    }
+
+    private static void writeManifest(Path manifest, Path[] runFolders) {
+        List<Artifact> artifacts = new ArrayList<Artifact>();
+        for (Path folder : runFolders) {
+            if (!Files.isDirectory(folder)) continue;
+            try (Stream<Path> walk = Files.walk(folder)) {
+                walk.filter(Files::isRegularFile).filter(f -> !f.equals(manifest)).sorted().forEach(f -> {
+                    Artifact known = tracked.get(f.toAbsolutePath().normalize());
+                    Artifact artifact = known != null ? known : new Artifact();
+                    if (known == null) {
+                        artifact.path = f.toString().replace('\\', '/');
+                        artifact.kind = kindOf(f);
+                    }
+                    artifact.bytes = size(f);
+                    artifacts.add(artifact);
+                });
+            } catch (IOException e) {
+                TestLog.error("Unable to list {} : {}", folder, e.getMessage());
+            }
+        }
+        try (Writer writer = Files.newBufferedWriter(manifest, StandardCharsets.UTF_8)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(artifacts, writer);
+        } catch (IOException e) {
+            TestLog.error("Unable to write the artifact manifest : {}", e.getMessage());
+        }
+    }
+
+    private static String kindOf(Path file) {
+        String extension = extension(file);
+        if (extension.equals("webm")) return "video";
+        if (file.toString().replace('\\', '/').contains("/screenshots/")) return "screenshot";
+        if (extension.equals("zip")) return "trace";
+        return "report";
+    }
+
+    private static Set<String> extensions() {
+        Set<String> extensions = new HashSet<String>();
+        String configured = ConfigurationManager.configuration().artifactsCompressExtensions();
+        if (configured == null) return extensions;
+        for (String extension : configured.split(",")) {
+            if (!extension.isBlank()) extensions.add(extension.trim().toLowerCase());
+        }
+        return extensions;
+    }
+
+    private static String extension(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase();
+    }
+
+    private static String sha256(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) > 0) digest.update(buffer, 0, read);
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) hex.append(String.format("%02x", b));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try (Stream<Path> walk = Files.walk(path)) {
+            return walk.mapToLong(f -> {
+                try {
+                    return Files.getLastModifiedTime(f).toMillis();
+                } catch (IOException e) {
+                    return 0;
+                }
+            }).max().orElse(0);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long size(Path path) {
+        if (!Files.exists(path)) return 0;
+        try (Stream<Path> walk = Files.walk(path)) {
+            return walk.filter(Files::isRegularFile).mapToLong(f -> f.toFile().length()).sum();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static boolean delete(Path folder) {
+        try (Stream<Path> walk = Files.walk(folder)) {
+            for (Path path : walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+            return true;
+        } catch (IOException e) {
+            TestLog.error("Unable to delete {} : {}", folder, e.getMessage());
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.ui.utilities;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.config.ConfigurationManager;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+
+/**
+ * Reads an expected table (dataset) from a CSV or JSON file. The first row of the returned list is the header.
+ * A JSON dataset is an array of objects (one per row, the keys are the headers)
+ * or an object with "columns" and "rows" (an array of arrays).
+ */
+public class DatasetReader {
+
+    private DatasetReader() {
+    }
+
+    /**
+     * @param fileName The dataset file, as a path or relative to one of the dataset.folders
+     * @return the header followed by the rows
+     */
+    public static List<String[]> read(String fileName) {
+        Path path = resolve(fileName);
+        try {
+            if (fileName.toLowerCase().endsWith(".json")) {
+                return readJson(path);
+            }
+            try (CSVReader reader = new CSVReader(Files.newBufferedReader(path, StandardCharsets.UTF_8))) {
+                return reader.readAll();
+            }
+        } catch (IOException | CsvException e) {
+            throw new IllegalArgumentException("Unable to read the dataset " + path + " : " + e.getMessage(), e);
+        }
+    }
+
+    private static Path resolve(String fileName) {
+        Path given = Paths.get(fileName);
+        if (Files.isRegularFile(given)) return given;
+        List<String> folders = new ArrayList<String>();
+        String configured = ConfigurationManager.configuration().datasetFolders();
+        if (configured != null) {
+            for (String folder : configured.split(",")) {
+                if (folder.isBlank()) continue;
+                folders.add(folder.trim());
+                Path path = Paths.get(folder.trim(), fileName);
+                if (Files.isRegularFile(path)) return path;
+            }
+        }
+        throw new IllegalArgumentException("Dataset " + fileName + " not found in " + folders + " (dataset.folders)");
+    }
+
+    private static List<String[]> readJson(Path path) throws IOException {
+        List<String[]> table = new ArrayList<String[]>();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            JsonElement root = JsonParser.parseReader(reader);
+            if (root.isJsonObject()) {
+                JsonObject object = root.getAsJsonObject();
+                if (!object.has("columns") || !object.has("rows")) {
+                    throw new IllegalArgumentException("The dataset " + path + " has no \"columns\" and \"rows\"");
+                }
+                table.add(toStrings(object.getAsJsonArray("columns")));
+                for (JsonElement row : object.getAsJsonArray("rows")) {
+                    table.add(toStrings(row.getAsJsonArray()));
+                }
+                return table;
+            }
+
+            JsonArray rows = root.getAsJsonArray();
+            Set<String> headers = new LinkedHashSet<String>();
+            for (JsonElement row : rows) {
+                for (Map.Entry<String, JsonElement> entry : row.getAsJsonObject().entrySet()) {
+                    headers.add(entry.getKey());
+                }
+            }
+            table.add(headers.toArray(new String[0]));
+            for (JsonElement row : rows) {
+                JsonObject object = row.getAsJsonObject();
+                String[] values = new String[headers.size()];
+                int i = 0;
+                for (String header : headers) {
+                    values[i++] = text(object.get(header));
+                }
+                table.add(values);
+            }
+            return table;
+        }
+    }
+
+    private static String[] toStrings(JsonArray array) {
+        String[] values = new String[array.size()];
+        for (int i = 0; i < array.size(); i++) {
+            values[i] = text(array.get(i));
+        }
+        return values;
+    }
+
+    private static String text(JsonElement element) {
+        if (element == null || element.isJsonNull()) return null;
+        return element.isJsonPrimitive() ? element.getAsString() : element.toString();
+    }
+
+}
@@ -1,12 +1,44 @@
 package com.ui.utilities;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
 public class ExcelReader {
-	
+
+	/** Rows parsed ahead of the test that consumes them */
+	private static final int ROWS_AHEAD = 256;
+	/** Marks the end of the sheet in the queue */
+	private static final Object[] END = new Object[0];
+	/** The close flags of the streams whose parser is still running */
+	private static final Set<AtomicBoolean> openStreams = ConcurrentHashMap.newKeySet();
+
 	public static Object[][] readExcelData(String excelfileName) {
 		
 		XSSFWorkbook wbook;
@@ -43,8 +75,194 @@ public class ExcelReader {
 			}
 			wbook.close();
 		} catch (IOException e) {
-			System.err.println(e.getMessage());
+			TestLog.error("{}", e.getMessage());
 		}
 		return data;
 	}
+
+	/**
+	 * Streams the first sheet of the workbook with the XSSF event (SAX) API, for an Iterator DataProvider:
+	 * a background thread parses the rows into a bounded queue while the tests consume them, so the first
+	 * test starts before the sheet is parsed and the heap does not grow with the size of the sheet.
+	 * The rows are the ones of readExcelData: the header row and the first column are skipped, the header
+	 * gives the number of columns, numbers are read as longs, strings as they are, and the blank, boolean,
+	 * error and formula cells are null.
+	 * When the rows are not all consumed (TestNG stopped pulling them), the workbook stays open until
+	 * {@link #closeStreams()} is called at the end of the suite.
+	 *
+	 * @param excelfileName The file name in ./data/excelData (without .xlsx)
+	 * @return the rows of the sheet, the iterator throws an IllegalStateException if the sheet cannot be read
+	 */
+	public static Iterator<Object[]> streamExcelData(String excelfileName) {
+		BlockingQueue<Object[]> rows = new ArrayBlockingQueue<Object[]>(ROWS_AHEAD);
+		AtomicBoolean closed = new AtomicBoolean();
+		RuntimeException[] failure = new RuntimeException[1];
+		openStreams.add(closed);
+		Thread parser = new Thread(() -> {
+			try {
+				parseFirstSheet(new File("./data/excelData/" + excelfileName + ".xlsx"), rows, closed);
+			} catch (RowCollector.Stopped e) {
+				// the stream was closed, the workbook is closed and no one reads the rows anymore
+			} catch (Exception e) {
+				failure[0] = new IllegalStateException("Unable to read " + excelfileName + ".xlsx : " + e.getMessage(), e);
+			} finally {
+				openStreams.remove(closed);
+				handOver(rows, END, closed);
+			}
+		}, "excel-" + excelfileName);
+		// a waiting parser must not keep the JVM alive
+		parser.setDaemon(true);
+		parser.start();
+
+		return new Iterator<Object[]>() {
+			private Object[] next;
+
+			@Override
+			public boolean hasNext() {
+				if (next == null) {
+					try {
+						next = rows.take();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						closed.set(true);
+						next = END;
+					}
+				}
+				// the failure is published before END is queued
+				if (next == END && failure[0] != null) throw failure[0];
+				return next != END;
+			}
+
+			@Override
+			public Object[] next() {
+				if (!hasNext()) throw new NoSuchElementException();
+				Object[] row = next;
+				next = null;
+				return row;
+			}
+		};
+	}
+
+	/**
+	 * Use this method at the end of the suite: stops the parsers whose rows were not all consumed
+	 * and closes their workbooks (an open workbook keeps the file locked on Windows)
+	 */
+	public static void closeStreams() {
+		for (AtomicBoolean closed : openStreams) {
+			closed.set(true);
+		}
+	}
+
+	/**
+	 * Puts the row on the queue, waiting for room until the stream is closed
+	 *
+	 * @return false if the stream was closed before the row could be queued
+	 */
+	private static boolean handOver(BlockingQueue<Object[]> rows, Object[] row, AtomicBoolean closed) {
+		try {
+			while (!closed.get()) {
+				if (rows.offer(row, 1, TimeUnit.SECONDS)) return true;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return false;
+	}
+
+	private static void parseFirstSheet(File file, BlockingQueue<Object[]> rows, AtomicBoolean closed) throws Exception {
+		try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+			XSSFReader reader = new XSSFReader(pkg);
+			XMLReader parser = XMLHelper.newXMLReader();
+			RowCollector collector = new RowCollector(rows, closed);
+			parser.setContentHandler(new TypedSheetHandler(reader.getStylesTable(), reader.getSharedStringsTable(), collector));
+			Iterator<InputStream> sheets = reader.getSheetsData();
+			if (!sheets.hasNext()) return;
+			try (InputStream sheet = sheets.next()) {
+				parser.parse(new InputSource(sheet));
+			}
+		}
+	}
+
+	/**
+	 * Formats the numeric cells as readExcelData does (the value cast to a long), whatever their cell format
+	 */
+	private static class LongFormatter extends DataFormatter {
+		@Override
+		public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+			return String.valueOf((long) value);
+		}
+	}
+
+	/**
+	 * Tells the collector which cells readExcelData reads as null (boolean, error and formula cells),
+	 * the formatted value of the event API does not carry the cell type
+	 */
+	private static class TypedSheetHandler extends XSSFSheetXMLHandler {
+
+		private final RowCollector collector;
+
+		TypedSheetHandler(StylesTable styles, SharedStrings strings, RowCollector collector) {
+			super(styles, strings, collector, new LongFormatter(), false);
+			this.collector = collector;
+		}
+
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+			if ("c".equals(localName)) {
+				String type = attributes.getValue("t");
+				collector.nullCell = "b".equals(type) || "e".equals(type);
+			} else if ("f".equals(localName)) {
+				collector.nullCell = true;
+			}
+			super.startElement(uri, localName, qName, attributes);
+		}
+	}
+
+	/**
+	 * Builds the rows from the cell events and hands them to the queue
+	 */
+	private static class RowCollector implements SheetContentsHandler {
+
+		/** Stops the SAX parser once the stream is closed */
+		private static class Stopped extends RuntimeException {
+			private static final long serialVersionUID = 1L;
+		}
+
+		private final BlockingQueue<Object[]> rows;
+		private final AtomicBoolean closed;
+		private int colCount = -1;
+		private int rowNum;
+		private String[] row;
+		/** The current cell is read as null whatever its value */
+		boolean nullCell;
+
+		RowCollector(BlockingQueue<Object[]> rows, AtomicBoolean closed) {
+			this.rows = rows;
+			this.closed = closed;
+		}
+
+		@Override
+		public void startRow(int rowNum) {
+			this.rowNum = rowNum;
+			row = colCount < 0 ? null : new String[colCount];
+		}
+
+		@Override
+		public void endRow(int rowNum) {
+			if (row == null) return;
+			if (!handOver(rows, row, closed)) throw new Stopped();
+		}
+
+		@Override
+		public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+			int col = new CellReference(cellReference).getCol();
+			if (row == null) {
+				// header row: its last cell gives the number of data columns
+				if (rowNum == 0) colCount = Math.max(colCount, col);
+				return;
+			}
+			if (col < 1 || col > colCount || nullCell) return;
+			row[col - 1] = formattedValue == null || formattedValue.isEmpty() ? null : formattedValue;
+		}
+	}
 }
@@ -0,0 +1,131 @@
+package com.ui.utilities;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder events of the framework, so a recording (-XX:StartFlightRecording=filename=run.jfr)
+ * shows the wrapper actions, the waits and sleeps, the screenshots and the report flushes of every test
+ * next to the JVM events. An event costs nothing more than its allocation when the recording is off.
+ */
+public class FlightEvents {
+
+    private static final String CATEGORY = "UI Automation";
+
+    private FlightEvents() {
+    }
+
+    @Name("com.ui.Action")
+    @Label("Wrapper Action")
+    @Description("A PlaywrightWrapper action (navigate, click, type, verify, table assertion)")
+    @Category({CATEGORY, "Actions"})
+    public static class Action extends Event {
+        @Label("Action")
+        public String action;
+        @Label("Locator")
+        public String locator;
+        @Label("Test")
+        public String test;
+        @Label("Outcome")
+        public String outcome;
+        @Label("Retries")
+        public int retries;
+    }
+
+    @Name("com.ui.Wait")
+    @Label("Wait")
+    @Description("An explicit wait or a fixed sleep of a test thread")
+    @Category({CATEGORY, "Waits"})
+    public static class Wait extends Event {
+        @Label("Kind")
+        public String kind;
+        @Label("Target")
+        public String target;
+        @Label("Test")
+        public String test;
+        @Label("Budget")
+        @Timespan(Timespan.MILLISECONDS)
+        public long budget;
+    }
+
+    @Name("com.ui.Screenshot")
+    @Label("Screenshot")
+    @Description("A screenshot taken for the report")
+    @Category({CATEGORY, "Report"})
+    public static class Screenshot extends Event {
+        @Label("Kind")
+        public String kind;
+        @Label("Path")
+        public String path;
+        @Label("Test")
+        public String test;
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+        @Label("Reused")
+        public boolean reused;
+    }
+
+    @Name("com.ui.ReportFlush")
+    @Label("Report Flush")
+    @Description("The report (HTML and shard) written to disk")
+    @Category({CATEGORY, "Report"})
+    public static class ReportFlush extends Event {
+        @Label("Finished Tests")
+        public int finishedTests;
+        @Label("Heap Used")
+        @DataAmount
+        public long heapUsed;
+    }
+
+    private static final EventType ACTION_TYPE = EventType.getEventType(Action.class);
+
+    /**
+     * @return true when a running recording has the action events enabled
+     */
+    public static boolean actionsRecorded() {
+        return ACTION_TYPE.isEnabled();
+    }
+
+    /**
+     * Use this method before a wait or a sleep, then end the wait with {@link #endWait}
+     *
+     * @param kind   sleep, element, url, network, condition, actionable, settle ...
+     * @param target The locator, URL fragment or description awaited
+     */
+    public static Wait beginWait(String kind, String target) {
+        Wait wait = new Wait();
+        if (wait.isEnabled()) {
+            wait.kind = kind;
+            wait.target = target;
+            wait.begin();
+        }
+        return wait;
+    }
+
+    /**
+     * @param budgetMillis The sleep the wait replaces or its maximum (0 when none)
+     */
+    public static void endWait(Wait wait, long budgetMillis) {
+        wait.end();
+        if (wait.shouldCommit()) {
+            wait.budget = budgetMillis;
+            wait.test = currentTest();
+            wait.commit();
+        }
+    }
+
+    /**
+     * @return the name of the test class that runs on the current thread
+     */
+    static String currentTest() {
+        return Reporter.testName.get();
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.ui.utilities;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with log-linear buckets (HdrHistogram style): below 32 microseconds
+ * every value has its own bucket, above it every power of two is split into 16 buckets, so a percentile
+ * is within about 6% of the recorded value from microseconds up to hours, in a fixed 5 KB array.
+ * Recording is one atomic increment on the bucket of the value, the threads only contend on equal values.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF = SUB_COUNT / 2;
+    private static final int MAX_MAGNITUDE = 42; // 2^42 us, about 50 days
+    private static final int BUCKETS = (MAX_MAGNITUDE - SUB_BITS + 2) * HALF + HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param micros The latency in microseconds (negative values count as 0)
+     */
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(bucketOf(value));
+        total.increment();
+        sum.add(value);
+        if (value > max.get()) max.accumulateAndGet(value, Math::max);
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    public long sumMicros() {
+        return sum.sum();
+    }
+
+    public long maxMicros() {
+        return max.get();
+    }
+
+    /**
+     * @param percentile 0 - 100
+     * @return the highest value of the bucket that holds the percentile, in microseconds (0 when empty)
+     */
+    public long percentileMicros(double percentile) {
+        long count = count();
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(highestValueOf(i), maxMicros());
+        }
+        return maxMicros();
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_COUNT) return (int) value;
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude > MAX_MAGNITUDE) return BUCKETS - 1;
+        int shift = magnitude - (SUB_BITS - 1);
+        int sub = (int) (value >>> shift); // HALF .. SUB_COUNT - 1
+        return shift * HALF + sub;
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_COUNT) return bucket;
+        int shift = bucket / HALF - 1;
+        long sub = bucket - (long) shift * HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+
+}
@@ -0,0 +1,260 @@
+package com.ui.utilities;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.config.ConfigurationManager;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.microsoft.playwright.TimeoutError;
+
+/**
+ * Learns how long every locator takes to become actionable and derives its timeout from the p99
+ * of the observed latencies times a safety factor, so a broken locator fails in seconds instead of
+ * waiting the full configured timeout. A wait that times out under its learned timeout is retried once with
+ * the rest of the fixed timeout, and the latency of the retry is recorded, so a slower page raises the
+ * learned timeout again instead of failing every time. The history is kept by page, wait state and locator
+ * (see {@link #key}). The latencies are kept across runs in the history file,
+ * which the parallel JVMs update one at a time, each adding its own samples to the ones on disk.
+ */
+public class LocatorTimeouts {
+
+    public static final String APPLIED = "timeout.adaptive.applied";
+    public static final String RETRIED = "timeout.adaptive.retried";
+
+    private static final int MAX_SAMPLES = 200;
+
+    private static final Map<String, Samples> latencies = new ConcurrentHashMap<String, Samples>();
+    /** The latencies observed by this JVM, merged into the history file on save */
+    private static final Map<String, Samples> recorded = new ConcurrentHashMap<String, Samples>();
+    private static volatile boolean loaded = false;
+
+    private LocatorTimeouts() {
+    }
+
+    /**
+     * The last MAX_SAMPLES latencies of a locator (ring buffer)
+     */
+    static class Samples {
+        private final long[] values = new long[MAX_SAMPLES];
+        private int count;
+        private int next;
+
+        synchronized void add(long millis) {
+            values[next] = millis;
+            next = (next + 1) % MAX_SAMPLES;
+            if (count < MAX_SAMPLES) count++;
+        }
+
+        synchronized int size() {
+            return count;
+        }
+
+        synchronized long percentile(double p) {
+            if (count == 0) return 0;
+            long[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(p / 100.0 * count) - 1;
+            return sorted[Math.max(0, Math.min(count - 1, rank))];
+        }
+
+        synchronized long[] toArray() {
+            long[] ordered = new long[count];
+            for (int i = 0; i < count; i++) {
+                ordered[i] = values[(next - count + i + MAX_SAMPLES) % MAX_SAMPLES];
+            }
+            return ordered;
+        }
+    }
+
+    /**
+     * Persisted form of a locator history
+     */
+    static class History {
+        long p50;
+        long p99;
+        long[] samples;
+    }
+
+    /**
+     * A wait with the given timeout, that throws a TimeoutError when it expires
+     */
+    public interface TimedWait {
+        void await(double timeoutMillis);
+    }
+
+    /**
+     * @param pageUrl The URL of the page (only its path is kept)
+     * @param state   The awaited state (visible, attached ...)
+     * @param locator The locator (as written in the page object)
+     * @return the key of the latency history of the locator on that page and in that state
+     */
+    public static String key(String pageUrl, String state, String locator) {
+        String path = pageUrl;
+        try {
+            String uriPath = URI.create(pageUrl).getPath();
+            if (uriPath != null) path = uriPath;
+        } catch (IllegalArgumentException | NullPointerException e) {
+            // not a URL (about:blank ...), the whole value is the page
+        }
+        return path + " | " + state + " | " + locator;
+    }
+
+    /**
+     * Use this method to wait with the learned timeout of the key and record the latency
+     *
+     * @param key      The key of the history (see {@link #key})
+     * @param fallback The configured (fixed) timeout
+     * @param wait     The wait to run
+     */
+    public static void await(String key, double fallback, TimedWait wait) {
+        record(key, await(timeoutFor(key, fallback), fallback, wait));
+    }
+
+    /**
+     * Runs the wait with the learned timeout and, when it times out under the fallback, once more with the rest
+     * of the fallback (the total never exceeds the fixed timeout)
+     *
+     * @return the time the wait took in milliseconds (both attempts)
+     * @throws TimeoutError when the fixed timeout is exceeded as well
+     */
+    public static long await(double learned, double fallback, TimedWait wait) {
+        long start = System.nanoTime();
+        try {
+            wait.await(learned);
+        } catch (TimeoutError e) {
+            double rest = fallback - (System.nanoTime() - start) / 1_000_000.0;
+            if (learned >= fallback || rest <= 0) throw e;
+            RunStats.increment(RETRIED);
+            wait.await(rest);
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * Use this method to record the time a locator took to become actionable
+     *
+     * @param key    The key of the history (see {@link #key})
+     * @param millis The observed latency
+     */
+    public static void record(String key, long millis) {
+        if (!ConfigurationManager.configuration().adaptiveTimeout()) return;
+        load();
+        latencies.computeIfAbsent(key, k -> new Samples()).add(millis);
+        recorded.computeIfAbsent(key, k -> new Samples()).add(millis);
+    }
+
+    /**
+     * Use this method to get the timeout of a locator: p99 * timeout.adaptive.factor, not lower than
+     * timeout.adaptive.floor.ms and never above the fallback. The fallback is used until enough samples exist.
+     *
+     * @param key      The key of the history (see {@link #key})
+     * @param fallback The configured (fixed) timeout
+     * @return the timeout in milliseconds
+     */
+    public static double timeoutFor(String key, double fallback) {
+        if (!ConfigurationManager.configuration().adaptiveTimeout()) return fallback;
+        load();
+        Samples samples = latencies.get(key);
+        if (samples == null || samples.size() < ConfigurationManager.configuration().adaptiveTimeoutMinSamples()) {
+            return fallback;
+        }
+        double learned = samples.percentile(99) * ConfigurationManager.configuration().adaptiveTimeoutFactor();
+        double floor = ConfigurationManager.configuration().adaptiveTimeoutFloor();
+        RunStats.increment(APPLIED);
+        return Math.min(fallback, Math.max(floor, learned));
+    }
+
+    /**
+     * Use this method to store the latencies (with their p50 / p99) in the history file for the next runs.
+     * The samples of this JVM are added to the history on disk (written meanwhile by the other JVMs),
+     * under a file lock, and the file is replaced atomically so a reader never sees a partial file.
+     */
+    public static synchronized void save() {
+        if (recorded.isEmpty()) return;
+        Path path = historyPath();
+        try {
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            Path lockFile = Paths.get(path + ".lock");
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                Map<String, Samples> merged = read(path);
+                recorded.forEach((locator, samples) -> {
+                    Samples history = merged.computeIfAbsent(locator, k -> new Samples());
+                    for (long value : samples.toArray()) history.add(value);
+                });
+                Map<String, History> histories = new TreeMap<String, History>();
+                merged.forEach((locator, samples) -> {
+                    History history = new History();
+                    history.p50 = samples.percentile(50);
+                    history.p99 = samples.percentile(99);
+                    history.samples = samples.toArray();
+                    histories.put(locator, history);
+                });
+                Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), "locator-latency", ".tmp");
+                try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    new GsonBuilder().setPrettyPrinting().create().toJson(histories, writer);
+                }
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            recorded.clear();
+        } catch (IOException e) {
+            TestLog.error("Unable to save the locator latency history : {}", e.getMessage());
+        }
+    }
+
+    private static void load() {
+        if (loaded) return;
+        synchronized (LocatorTimeouts.class) {
+            if (loaded) return;
+            latencies.putAll(read(historyPath()));
+            loaded = true;
+        }
+    }
+
+    /**
+     * @return the samples of every locator in the history file (empty when there is none)
+     */
+    private static Map<String, Samples> read(Path path) {
+        Map<String, Samples> samplesByLocator = new LinkedHashMap<String, Samples>();
+        if (!Files.exists(path)) return samplesByLocator;
+        Type type = new TypeToken<LinkedHashMap<String, History>>() {}.getType();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            Map<String, History> histories = new Gson().fromJson(reader, type);
+            if (histories != null) {
+                histories.forEach((locator, history) -> {
+                    Samples samples = new Samples();
+                    if (history.samples != null) {
+                        for (long value : history.samples) samples.add(value);
+                    }
+                    samplesByLocator.put(locator, samples);
+                });
+            }
+        } catch (Exception e) {
+            TestLog.error("Unable to read the locator latency history : {}", e.getMessage());
+        }
+        return samplesByLocator;
+    }
+
+    private static Path historyPath() {
+        return Paths.get(ConfigurationManager.configuration().adaptiveTimeoutHistory());
+    }
+
+}
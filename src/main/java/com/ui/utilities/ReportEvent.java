@@ -0,0 +1,54 @@
+package com.ui.utilities;
+
+import com.aventstack.extentreports.ExtentTest;
+
+/**
+ * One report step, captured on the test thread and written into the report by the ReportWriter
+ */
+public final class ReportEvent {
+
+    private final ExtentTest test;
+    private final String desc;
+    private final String status;
+    private final String screenshot;
+    private final long timestamp;
+
+    /**
+     * @param test       The node of the test the step belongs to
+     * @param desc       The description of the step
+     * @param status     pass, fail, warning, skipped or info
+     * @param screenshot The path (relative to the report) of the screenshot attached to the step or null
+     */
+    public ReportEvent(ExtentTest test, String desc, String status, String screenshot) {
+        this.test = test;
+        this.desc = desc;
+        this.status = status;
+        this.screenshot = screenshot;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public ExtentTest getTest() {
+        return test;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getScreenshot() {
+        return screenshot;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public boolean isInfo() {
+        return "info".equalsIgnoreCase(status);
+    }
+
+}
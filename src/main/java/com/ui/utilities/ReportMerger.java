@@ -0,0 +1,107 @@
+package com.ui.utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.config.ConfigurationManager;
+
+/**
+ * Combines the JSON report shards written by the parallel JVMs (see Reporter.startReport) into one HTML report.
+ * The screenshots stay in the folder of their shard, their paths are rewritten relative to the merged report.
+ * The step events (NDJSON) of the shards are concatenated next to the merged report.
+ * Only the shards of one run are merged: the run id given (report.run.id), else the run of the newest shard,
+ * so the older runs kept under reports/ (see artifacts.retention.days) are left out.
+ * <p>
+ * Usage: ReportMerger [shards root, default reports] [output folder, default reports/merged/&lt;date&gt;]
+ * or mvn -Pmerge-reports exec:java -Dreport.run.id=...
+ */
+public class ReportMerger {
+
+    public static void main(String[] args) throws IOException {
+        Path root = Paths.get(args.length > 0 ? args[0] : "reports");
+        Path output = Paths.get(args.length > 1 ? args[1] : Reporter.createFolder("reports/merged"));
+        int shards = merge(root, output, ConfigurationManager.configuration().reportRunId());
+        TestLog.info("{} report shards merged into {}", shards, output.resolve("result.html"));
+    }
+
+    /**
+     * @param root   The folder that holds the shard folders (searched recursively)
+     * @param output The folder of the merged report
+     * @param runId  The run whose shards are merged, the run of the newest shard when empty
+     * @return the number of shards merged
+     */
+    public static int merge(Path root, Path output, String runId) throws IOException {
+        List<Path> candidates;
+        try (Stream<Path> files = Files.walk(root)) {
+            candidates = files.filter(f -> f.getFileName().toString().equals(Reporter.SHARD_FILE))
+                    .filter(f -> !f.toAbsolutePath().normalize().startsWith(output.toAbsolutePath().normalize()))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        Map<Path, String> runIds = new TreeMap<Path, String>();
+        for (Path shard : candidates) {
+            runIds.put(shard, ReportShard.runId(shard));
+        }
+        String run = runId != null && !runId.isBlank() ? runId.trim() : newestRun(runIds);
+        List<Path> shards = candidates.stream().filter(shard -> runIds.get(shard).equals(run)).collect(Collectors.toList());
+        Files.createDirectories(output);
+
+        ExtentReports merged = new ExtentReports();
+        merged.attachReporter(Reporter.sparkReporter(output.resolve("result.html").toString()));
+        Map<String, String> systemInfo = new TreeMap<String, String>();
+        for (Path shard : shards) {
+            String prefix = output.toAbsolutePath().normalize()
+                    .relativize(shard.toAbsolutePath().normalize().getParent()).toString().replace('\\', '/');
+            ReportShard.mergeInfo(systemInfo, ReportShard.read(shard, merged, prefix));
+            TestLog.info("Merged the report shard {}", shard);
+        }
+        systemInfo.forEach(merged::setSystemInfo);
+        merged.flush();
+        mergeStepEvents(shards, output);
+        return shards.size();
+    }
+
+    private static String newestRun(Map<Path, String> runIds) throws IOException {
+        Path newest = null;
+        long newestTime = Long.MIN_VALUE;
+        for (Path shard : runIds.keySet()) {
+            long modified = Files.getLastModifiedTime(shard).toMillis();
+            if (modified > newestTime) {
+                newest = shard;
+                newestTime = modified;
+            }
+        }
+        return newest == null ? "" : runIds.get(newest);
+    }
+
+    private static void mergeStepEvents(List<Path> shards, Path output) throws IOException {
+        String fileName = ConfigurationManager.configuration().stepEventsFile();
+        Path merged = output.resolve(fileName);
+        Files.deleteIfExists(merged);
+        for (Path shard : shards) {
+            Path events = shard.resolveSibling(fileName);
+            if (Files.exists(events)) {
+                Files.write(merged, Files.readAllBytes(events), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            // compressed at the end of the suite (see ArtifactManager)
+            Path compressed = shard.resolveSibling(fileName + ".gz");
+            if (Files.exists(compressed)) {
+                try (InputStream in = new GZIPInputStream(Files.newInputStream(compressed))) {
+                    Files.write(merged, in.readAllBytes(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+            }
+        }
+    }
+
+}
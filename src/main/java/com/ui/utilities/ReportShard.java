@@ -0,0 +1,206 @@
+package com.ui.utilities;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.model.SystemEnvInfo;
+import com.aventstack.extentreports.model.Test;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * The report of one JVM as a compact JSON file: the tests, their nodes and logs (screenshots by path)
+ * and the system info. The JSON is written from the model itself rather than with the JsonFormatter
+ * of Extent, whose reflection based serialization fails on JDK 17 without --add-opens.
+ */
+public class ReportShard {
+
+    private ReportShard() {
+    }
+
+    /**
+     * Use this method to write the report model into the shard file (through a temporary file)
+     *
+     * @param extent The report of this JVM
+     * @param file   The shard file
+     */
+    public static void write(ExtentReports extent, Path file) {
+        JsonObject shard = new JsonObject();
+        JsonArray tests = new JsonArray();
+        for (Test test : extent.getReport().getTestList()) {
+            tests.add(toJson(test));
+        }
+        shard.add("tests", tests);
+        JsonObject info = new JsonObject();
+        for (SystemEnvInfo env : extent.getReport().getSystemEnvInfo()) {
+            info.addProperty(env.getName(), env.getValue());
+        }
+        shard.add("systemInfo", info);
+        shard.addProperty("runId", Reporter.runId());
+
+        try {
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "shard", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(shard.toString());
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            TestLog.error("Unable to write the report shard {} : {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * @param file The shard file
+     * @return the run id of the shard, empty when the shard has none (written before the run ids)
+     */
+    public static String runId(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JsonElement runId = JsonParser.parseReader(reader).getAsJsonObject().get("runId");
+            return runId == null || runId.isJsonNull() ? "" : runId.getAsString();
+        }
+    }
+
+    /**
+     * Use this method to add the tests of a shard to a report
+     *
+     * @param file        The shard file
+     * @param extent      The report to add the tests to
+     * @param mediaPrefix Prepended to the relative screenshot paths (the shard folder as seen from the report)
+     * @return the system info of the shard
+     */
+    public static JsonObject read(Path file, ExtentReports extent, String mediaPrefix) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JsonObject shard = JsonParser.parseReader(reader).getAsJsonObject();
+            for (JsonElement test : shard.getAsJsonArray("tests")) {
+                JsonObject json = test.getAsJsonObject();
+                ExtentTest created = extent.createTest(text(json, "name"), text(json, "description"));
+                fill(created, json, mediaPrefix);
+            }
+            return shard.has("systemInfo") ? shard.getAsJsonObject("systemInfo") : new JsonObject();
+        }
+    }
+
+    private static JsonObject toJson(Test test) {
+        JsonObject json = new JsonObject();
+        json.addProperty("name", test.getName());
+        json.addProperty("description", test.getDescription());
+        json.addProperty("status", test.getStatus().toString());
+        json.addProperty("start", time(test.getStartTime()));
+        json.addProperty("end", time(test.getEndTime()));
+        JsonArray categories = new JsonArray();
+        test.getCategorySet().forEach(c -> categories.add(c.getName()));
+        json.add("categories", categories);
+        JsonArray authors = new JsonArray();
+        test.getAuthorSet().forEach(a -> authors.add(a.getName()));
+        json.add("authors", authors);
+        JsonArray devices = new JsonArray();
+        test.getDeviceSet().forEach(d -> devices.add(d.getName()));
+        json.add("devices", devices);
+
+        JsonArray logs = new JsonArray();
+        for (Log log : test.getLogs()) {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("status", log.getStatus().toString());
+            entry.addProperty("details", log.getDetails());
+            entry.addProperty("time", time(log.getTimestamp()));
+            if (log.hasMedia() && log.getMedia().getPath() != null) {
+                entry.addProperty("media", log.getMedia().getPath());
+            }
+            logs.add(entry);
+        }
+        json.add("logs", logs);
+
+        JsonArray children = new JsonArray();
+        for (Test child : test.getChildren()) {
+            children.add(toJson(child));
+        }
+        json.add("children", children);
+        return json;
+    }
+
+    private static void fill(ExtentTest test, JsonObject json, String mediaPrefix) {
+        json.getAsJsonArray("categories").forEach(c -> test.assignCategory(c.getAsString()));
+        json.getAsJsonArray("authors").forEach(a -> test.assignAuthor(a.getAsString()));
+        json.getAsJsonArray("devices").forEach(d -> test.assignDevice(d.getAsString()));
+
+        for (JsonElement element : json.getAsJsonArray("logs")) {
+            JsonObject entry = element.getAsJsonObject();
+            Status status = Status.valueOf(entry.get("status").getAsString().toUpperCase());
+            String details = text(entry, "details");
+            if (entry.has("media")) {
+                test.log(status, details, MediaEntityBuilder.createScreenCaptureFromPath(relocate(entry.get("media").getAsString(), mediaPrefix)).build());
+            } else {
+                test.log(status, details);
+            }
+            List<Log> logs = test.getModel().getLogs();
+            logs.get(logs.size() - 1).setTimestamp(new Date(entry.get("time").getAsLong()));
+        }
+
+        for (JsonElement child : json.getAsJsonArray("children")) {
+            JsonObject node = child.getAsJsonObject();
+            fill(test.createNode(text(node, "name"), text(node, "description")), node, mediaPrefix);
+        }
+        // keep the original run times (and the status when there is no log, e.g. a skipped test)
+        test.getModel().setStartTime(new Date(json.get("start").getAsLong()));
+        test.getModel().setEndTime(new Date(json.get("end").getAsLong()));
+        if (test.getModel().getLogs().isEmpty() && test.getModel().getChildren().isEmpty()) {
+            test.getModel().setStatus(Status.valueOf(json.get("status").getAsString().toUpperCase()));
+        }
+    }
+
+    private static String relocate(String path, String prefix) {
+        if (prefix == null || prefix.isEmpty() || path.contains("://") || path.startsWith("data:")
+                || Paths.get(path).isAbsolute()) {
+            return path;
+        }
+        return prefix + "/" + path;
+    }
+
+    private static long time(Date date) {
+        return date == null ? System.currentTimeMillis() : date.getTime();
+    }
+
+    private static String text(JsonObject json, String name) {
+        JsonElement value = json.get(name);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+
+    /**
+     * Use this method to combine the system info of the shards: numbers are added up (peaks, named *.max*, keep the highest)
+     */
+    public static void mergeInfo(Map<String, String> merged, JsonObject info) {
+        for (Map.Entry<String, JsonElement> entry : info.entrySet()) {
+            String name = entry.getKey();
+            String value = entry.getValue().getAsString();
+            String previous = merged.get(name);
+            if (previous == null) {
+                merged.put(name, value);
+                continue;
+            }
+            try {
+                long a = Long.parseLong(previous);
+                long b = Long.parseLong(value);
+                merged.put(name, String.valueOf(name.contains(".max") ? Math.max(a, b) : a + b));
+            } catch (NumberFormatException e) {
+                if (!previous.equals(value)) merged.put(name, previous + ", " + value);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,249 @@
+package com.ui.utilities;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.markuputils.ExtentColor;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.aventstack.extentreports.model.Log;
+import com.config.ConfigurationManager;
+
+/**
+ * Writes the report steps into ExtentReports from a single background thread.
+ * The test threads only put an immutable ReportEvent on a lock-free queue, the labels are built and the
+ * ExtentTest nodes are updated by the writer, in the order of the queue.
+ * When the queue holds report.queue.capacity events the step waits for room (report.queue.policy = block)
+ * or, for the info steps only, is dropped (report.queue.policy = drop-info).
+ * The writer also flushes the report to disk every report.flush.tests finished classes or report.flush.seconds,
+ * and once more when the JVM exits, so a crash or a CI timeout keeps the report of the finished classes.
+ */
+public class ReportWriter {
+
+    public static final String QUEUED = "report.events";
+    public static final String DROPPED = "report.events.dropped";
+    public static final String BLOCKED_MS = "report.events.blocked.ms";
+    public static final String FLUSHES = "report.flushes";
+    public static final String FLUSH_MS = "report.flush.ms";
+    public static final String HEAP_USED_MB = "report.heap.used.max.mb";
+
+    /**
+     * Guards the report model: the creation of the tests and nodes, the steps written to them and the flush
+     */
+    public static final Object MODEL_LOCK = new Object();
+
+    // Define the custom CSS styles
+    private static final String STYLE = "style='white-space: normal !important; text-align: left !important; display: block !important;'";
+
+    private static final Queue<ReportEvent> queue = new ConcurrentLinkedQueue<ReportEvent>();
+    private static final AtomicInteger pending = new AtomicInteger();
+    private static volatile Thread writer;
+
+    private static volatile Runnable flushAction;
+    private static final AtomicInteger finishedSinceFlush = new AtomicInteger();
+    private static volatile long lastFlush = System.currentTimeMillis();
+    private static volatile boolean dirty = false;
+    private static volatile boolean exitHook = false;
+
+    private ReportWriter() {
+    }
+
+    /**
+     * Use this method to report a step, it returns as soon as the step is queued
+     *
+     * @param event The step to write
+     */
+    public static void submit(ReportEvent event) {
+        if (!ConfigurationManager.configuration().reportAsync()) {
+            synchronized (MODEL_LOCK) {
+                write(event);
+            }
+            dirty = true;
+            return;
+        }
+        int capacity = ConfigurationManager.configuration().reportQueueCapacity();
+        if (capacity > 0 && pending.get() >= capacity) {
+            if (event.isInfo() && "drop-info".equalsIgnoreCase(ConfigurationManager.configuration().reportQueuePolicy())) {
+                RunStats.increment(DROPPED);
+                return;
+            }
+            long start = System.nanoTime();
+            while (pending.get() >= capacity) {
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+            }
+            RunStats.add(BLOCKED_MS, (System.nanoTime() - start) / 1_000_000);
+        }
+        pending.incrementAndGet();
+        queue.offer(event);
+        RunStats.increment(QUEUED);
+        LockSupport.unpark(startWriter());
+    }
+
+    /**
+     * Use this method to wait until every queued step is written (before a flush or reading a test status)
+     */
+    public static void drain() {
+        long deadline = System.currentTimeMillis() + ConfigurationManager.configuration().pauseHigh();
+        while (pending.get() > 0 && System.currentTimeMillis() < deadline) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        if (pending.get() > 0) {
+            TestLog.error("{} report steps could not be written in time", pending.get());
+        }
+    }
+
+    /**
+     * Use this method to register how the report is written to disk (ExtentReports.flush)
+     *
+     * @param action The flush of the current report
+     */
+    public static void onFlush(Runnable action) {
+        flushAction = action;
+        lastFlush = System.currentTimeMillis();
+        synchronized (ReportWriter.class) {
+            if (!exitHook) {
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    if (dirty || pending.get() > 0) {
+                        drain();
+                        flushNow();
+                    }
+                }, "report-flush-on-exit"));
+                exitHook = true;
+            }
+        }
+        startWriter();
+    }
+
+    /**
+     * Use this method to count a finished test class toward the next periodic flush
+     */
+    public static void testFinished() {
+        finishedSinceFlush.incrementAndGet();
+        LockSupport.unpark(writer);
+    }
+
+    /**
+     * Use this method to write every queued step and flush the report to disk
+     */
+    public static void flush() {
+        drain();
+        flushNow();
+    }
+
+    private static void flushNow() {
+        Runnable action = flushAction;
+        if (action == null) return;
+        FlightEvents.ReportFlush event = new FlightEvents.ReportFlush();
+        event.begin();
+        long start = System.nanoTime();
+        synchronized (MODEL_LOCK) {
+            action.run();
+        }
+        dirty = false;
+        int finished = finishedSinceFlush.getAndSet(0);
+        lastFlush = System.currentTimeMillis();
+        RunStats.increment(FLUSHES);
+        RunStats.add(FLUSH_MS, (System.nanoTime() - start) / 1_000_000);
+        Runtime runtime = Runtime.getRuntime();
+        long heapUsed = runtime.totalMemory() - runtime.freeMemory();
+        RunStats.max(HEAP_USED_MB, heapUsed / (1024 * 1024));
+        event.end();
+        if (event.shouldCommit()) {
+            event.finishedTests = finished;
+            event.heapUsed = heapUsed;
+            event.commit();
+        }
+    }
+
+    private static boolean flushDue() {
+        if (!dirty || flushAction == null) return false;
+        int everyTests = ConfigurationManager.configuration().reportFlushTests();
+        long everySeconds = ConfigurationManager.configuration().reportFlushSeconds();
+        return (everyTests > 0 && finishedSinceFlush.get() >= everyTests)
+                || (everySeconds > 0 && System.currentTimeMillis() - lastFlush >= TimeUnit.SECONDS.toMillis(everySeconds));
+    }
+
+    private static Thread startWriter() {
+        Thread current = writer;
+        if (current != null) return current;
+        synchronized (ReportWriter.class) {
+            if (writer == null) {
+                Thread thread = new Thread(ReportWriter::run, "report-writer");
+                thread.setDaemon(true);
+                thread.start();
+                writer = thread;
+            }
+            return writer;
+        }
+    }
+
+    private static void run() {
+        while (true) {
+            ReportEvent event = queue.poll();
+            if (event == null) {
+                if (flushDue()) {
+                    try {
+                        flushNow();
+                    } catch (RuntimeException e) {
+                        TestLog.error("Unable to flush the report : {}", e.getMessage());
+                    }
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+                continue;
+            }
+            try {
+                // a flush from another thread (endResult, exit hook, run stats) renders the logs being appended
+                synchronized (MODEL_LOCK) {
+                    write(event);
+                }
+                dirty = true;
+            } catch (RuntimeException e) {
+                TestLog.error("Unable to write the report step '{}' : {}", event.getDesc(), e.getMessage());
+            } finally {
+                pending.decrementAndGet();
+            }
+        }
+    }
+
+    private static void write(ReportEvent event) {
+        ExtentTest test = event.getTest();
+        String status = event.getStatus();
+        // Wrap the description in a styled span element
+        String styledDesc = "<span " + STYLE + ">" + event.getDesc() + "</span>";
+        int logged = test.getModel().getLogs().size();
+
+        if (status.equalsIgnoreCase("pass")) {
+            test.pass(MarkupHelper.createLabel(styledDesc, ExtentColor.GREEN));
+        } else if (status.equalsIgnoreCase("fail")) {
+            test.fail(MarkupHelper.createLabel(styledDesc, ExtentColor.RED));
+            if (event.getScreenshot() != null)
+                test.fail(styledDesc, MediaEntityBuilder.createScreenCaptureFromPath(event.getScreenshot()).build());
+        } else if (status.equalsIgnoreCase("warning")) {
+            test.warning(MarkupHelper.createLabel(styledDesc, ExtentColor.YELLOW));
+            if (event.getScreenshot() != null)
+                test.warning(styledDesc, MediaEntityBuilder.createScreenCaptureFromPath(event.getScreenshot()).build());
+        } else if (status.equalsIgnoreCase("skipped")) {
+            test.skip("The test is skipped due to dependency failure");
+        } else if (status.equalsIgnoreCase("INFO")) {
+            test.info(MarkupHelper.createLabel(styledDesc, ExtentColor.INDIGO));
+        }
+        if (event.getScreenshot() != null && !(status.equalsIgnoreCase("fail") || status.equalsIgnoreCase("warning"))) {
+            test.info(styledDesc, MediaEntityBuilder.createScreenCaptureFromPath(event.getScreenshot()).build());
+        }
+
+        // the step keeps the time it was reported at, not the time it was written
+        List<Log> logs = test.getModel().getLogs();
+        for (int i = logged; i < logs.size(); i++) {
+            logs.get(i).setTimestamp(new Date(event.getTimestamp()));
+        }
+    }
+
+}
@@ -1,19 +1,22 @@
 package com.ui.utilities;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 import com.aventstack.extentreports.reporter.configuration.ViewName;
 import com.config.ConfigurationManager;
+import com.microsoft.playwright.Locator;
 import com.ui.base.DriverFactory;
 import com.aventstack.extentreports.*;
-import com.aventstack.extentreports.markuputils.ExtentColor;
-import com.aventstack.extentreports.markuputils.MarkupHelper;
 
 
 public abstract class Reporter extends DriverFactory {
@@ -23,9 +26,12 @@ public abstract class Reporter extends DriverFactory {
     private static final ThreadLocal<ExtentTest> parentTest = new ThreadLocal<ExtentTest>();
     private static final ThreadLocal<ExtentTest> test = new ThreadLocal<ExtentTest>();
     protected static ThreadLocal<String> testName = new ThreadLocal<String>();
+    private static final ThreadLocal<int[]> failedSteps = ThreadLocal.withInitial(() -> new int[1]);
+    private static final ThreadLocal<Integer> failedStepsAtStart = new ThreadLocal<Integer>();
 
 
     private String fileName = "result.html";
+    public static final String SHARD_FILE = "shard.json";
     private static String pattern = "dd-MMM-yyyy HH-mm-ss";
 
     public String testcaseName, testDescription, authors, category, dataFileType, dataFileName;
@@ -33,99 +39,243 @@ public abstract class Reporter extends DriverFactory {
     public static String folderName = "";
 
     public static String createFolder(String folderName) {
+        return createFolder(folderName, "");
+    }
+
+    /**
+     * @param suffix Appended to the date (the report shard), so parallel JVMs started together get their own folder
+     */
+    public static String createFolder(String folderName, String suffix) {
         String date = new SimpleDateFormat(pattern).format(new Date());
-        folderName = folderName + "/" + date;
+        folderName = folderName + "/" + date + suffix;
 
         File folder = new File("./" + folderName);
         if (!folder.exists()) {
-            folder.mkdir();
+            folder.mkdirs();
         }
         return folderName;
     }
 
-    public synchronized void startReport() {
-    	folderName = createFolder("reports");
+    /**
+     * The run id of this JVM, read (or generated) once
+     */
+    private static class Run {
+        static final String ID = runId(ConfigurationManager.configuration().reportRunId());
+
+        private static String runId(String configured) {
+            if (configured != null && !configured.isBlank()) return configured.trim();
+            return new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+    }
+
+    /**
+     * @return the run id written into the report shard (report.run.id, generated when empty)
+     */
+    public static String runId() {
+        return Run.ID;
+    }
+
+    /**
+     * @return the folder suffix of this JVM (_&lt;report.shard&gt;), empty when the run is not sharded
+     */
+    public static String shardSuffix() {
+        String shard = ConfigurationManager.configuration().reportShard();
+        return shard == null || shard.isBlank() ? "" : "_" + shard.trim();
+    }
+
+    /**
+     * Starts the report of this JVM (its shard). The report is started once: the next suites of the JVM
+     * add their tests to it instead of replacing it. Besides the HTML, the report is written as a JSON shard
+     * (SHARD_FILE) that ReportMerger combines with the shards of the other JVMs into one HTML report.
+     */
+    public void startReport() {
+        synchronized (Reporter.class) {
+            if (extent != null) return;
+            folderName = createFolder("reports", shardSuffix());
+            oSpark = sparkReporter("./" + folderName + "/" + fileName);
+            extent = new ExtentReports();
+            extent.attachReporter(oSpark);
+            Path shardFile = Paths.get(folderName, SHARD_FILE);
+            ReportWriter.onFlush(() -> {
+                extent.flush();
+                ReportShard.write(extent, shardFile);
+            });
+        }
+    }
+
+    /**
+     * @param path The HTML file to write
+     * @return the Spark reporter configured from report.properties
+     */
+    public static ExtentSparkReporter sparkReporter(String path) {
 		List<ViewName> viewList = new ArrayList<ViewName>();
 		viewList.add(ViewName.DASHBOARD);
 		viewList.add(ViewName.TEST);
 		viewList.add(ViewName.AUTHOR);
 		viewList.add(ViewName.CATEGORY);
 		//ExtentHtmlReporter htmlReporter = new ExtentHtmlReporter("./" + folderName + "/" + fileName);
-		oSpark = new ExtentSparkReporter("./" + folderName + "/" + fileName).viewConfigurer().viewOrder().as(viewList).apply();
+		ExtentSparkReporter spark = new ExtentSparkReporter(path).viewConfigurer().viewOrder().as(viewList).apply();
 //		oSpark.config().setTestViewChartLocation(ChartLocation.BOTTOM);
 //		oSpark.config().setChartVisibilityOnOpen(!true);
-		oSpark.config().setTheme(Theme.STANDARD);
+		spark.config().setTheme(Theme.STANDARD);
 		if(ConfigurationManager.configuration().reportTheme().equalsIgnoreCase("dark")) {
-			oSpark.config().setTheme(Theme.DARK);
+			spark.config().setTheme(Theme.DARK);
 		}
-		oSpark.config().setDocumentTitle(ConfigurationManager.configuration().reportTitle());
-		oSpark.config().setEncoding("utf-8");
-		oSpark.config().setReportName(ConfigurationManager.configuration().reportName());
-		extent = new ExtentReports();
-		extent.attachReporter(oSpark);
+		spark.config().setDocumentTitle(ConfigurationManager.configuration().reportTitle());
+		spark.config().setEncoding("utf-8");
+		spark.config().setReportName(ConfigurationManager.configuration().reportName());
+		return spark;
     }
 
     public synchronized void startTestCase() {
-        ExtentTest parent = extent.createTest(testcaseName, testDescription);
-        parent.assignCategory(category);
+        ScreenshotService.reset();
+        ExtentTest parent;
+        synchronized (ReportWriter.MODEL_LOCK) {
+            parent = extent.createTest(testcaseName, testDescription);
+            parent.assignCategory(category);
+        }
         // parent.assignAuthor(authors);
         parentTest.set(parent);
         testName.set(testcaseName);
+        failedStepsAtStart.set(failedSteps());
+        TestLog.clear();
     }
 
     public synchronized void setNode() {
-        ExtentTest child = parentTest.get().createNode(getTestName());
+        ExtentTest child;
+        synchronized (ReportWriter.MODEL_LOCK) {
+            child = parentTest.get().createNode(getTestName());
+        }
         test.set(child);
     }
 
     public abstract String takeSnap();
 
+    /**
+     * Queues the step for the report writer (see ReportWriter), only the screenshot is taken on the test thread
+     */
     public void reportStep(String desc, String status, boolean bSnap) {
-    	synchronized (test) {
-
-            // Define the custom CSS styles
-            String style =  "style='white-space: normal !important; text-align: left !important; display: block !important;'";
-
-            // Start reporting the step and snapshot
-			if (bSnap && !(status.equalsIgnoreCase("INFO") || status.equalsIgnoreCase("skipped"))) {
-				 MediaEntityBuilder.createScreenCaptureFromBase64String(takeSnap()).build();
-			}
-
-            // Wrap the description in a styled span element
-            String styledDesc = "<span " + style + ">" + desc + "</span>";
-
-			if (status.equalsIgnoreCase("pass")) {
-				test.get().pass(MarkupHelper.createLabel(styledDesc, ExtentColor.GREEN));
-			} else if (status.equalsIgnoreCase("fail")) { 
-				test.get().fail(MarkupHelper.createLabel(styledDesc, ExtentColor.RED));
-				test.get().fail(styledDesc,MediaEntityBuilder.createScreenCaptureFromBase64String(takeSnap()).build());
-			} else if (status.equalsIgnoreCase("warning")) {
-				test.get().warning(MarkupHelper.createLabel(styledDesc, ExtentColor.YELLOW));
-				test.get().warning(styledDesc, MediaEntityBuilder.createScreenCaptureFromBase64String(takeSnap()).build());
-			} else if (status.equalsIgnoreCase("skipped")) {
-				test.get().skip("The test is skipped due to dependency failure");
-			} else if (status.equalsIgnoreCase("INFO")) {
-				test.get().info(MarkupHelper.createLabel(styledDesc, ExtentColor.INDIGO));
-			}
-		}
+        countFailed(status, desc);
+        ExtentTest node = test.get();
+        if (node == null) {
+            TestLog.warn("[{}] {} (no report node)", status, desc);
+            return;
+        }
+
+        // The fail and warning steps get a screenshot (a file in the report folder)
+        // No snapshot when the browser of the class is not launched (yet)
+        String screenshot = null;
+        if (bSnap && isBrowserOpen() && (status.equalsIgnoreCase("fail") || status.equalsIgnoreCase("warning"))) {
+            screenshot = ScreenshotService.capture(getPage(), folderName);
+        }
+        ReportWriter.submit(new ReportEvent(node, desc, status, screenshot));
     }
 
     public void reportStep(String desc, String status) {
         reportStep(desc, status, true);
     }
 
+    /**
+     * Reports the step with a screenshot clipped to the given element (whatever the status)
+     */
+    public void reportStep(String desc, String status, Locator element) {
+        countFailed(status, desc);
+        ExtentTest node = test.get();
+        if (node == null) {
+            TestLog.warn("[{}] {} (no report node)", status, desc);
+            return;
+        }
+        String screenshot = isBrowserOpen() ? ScreenshotService.captureElement(element, folderName) : null;
+        ReportWriter.submit(new ReportEvent(node, desc, status, screenshot));
+    }
+
 
+    /**
+     * A fail step also prints the buffered logs of the test (see TestLog)
+     */
+    private static void countFailed(String status, String desc) {
+        if (!"fail".equalsIgnoreCase(status)) return;
+        failedSteps.get()[0]++;
+        TestLog.dump(desc);
+    }
+
+    /**
+     * @return the number of fail steps reported by the current thread so far
+     */
+    public static int failedSteps() {
+        return failedSteps.get()[0];
+    }
+
+    /**
+     * @return true if the test case (class) running on this thread reported a fail step
+     */
+    public boolean hasFailed() {
+        Integer atStart = failedStepsAtStart.get();
+        return failedSteps() > (atStart == null ? 0 : atStart);
+    }
 
     public synchronized void endResult() {
-        extent.flush();
+        ReportWriter.flush();
     }
 
+    /**
+     * Releases the report nodes of the thread once its class is completed, the class counts toward
+     * the next periodic flush of the report. The step events of the class are forced to disk.
+     */
+    public void endTestCase() {
+        StepEventLog.sync();
+        parentTest.remove();
+        test.remove();
+        testName.remove();
+        failedStepsAtStart.remove();
+        TestLog.clear();
+        ScreenshotService.reset();
+        ReportWriter.testFinished();
+    }
+
+    /**
+     * Publishes the run level counters (see {@link RunStats}) into the system info of the report
+     */
+    public synchronized void reportRunStats() {
+        ReportWriter.drain();
+        synchronized (ReportWriter.MODEL_LOCK) {
+            RunStats.snapshot().forEach((name, value) -> {
+                extent.setSystemInfo(name, String.valueOf(value));
+                TestLog.info("[RunStats] {} = {}", name, value);
+            });
+        }
+    }
+
+    /**
+     * Adds the latency tables of the wrapper actions (see {@link ActionMetrics}) to the report
+     * and writes them as CSV in the report folder
+     */
+    public synchronized void reportLatencies() {
+        List<String[]> actions = ActionMetrics.actionRows();
+        if (actions.isEmpty()) return;
+        ReportWriter.drain();
+        synchronized (ReportWriter.MODEL_LOCK) {
+            ExtentTest latency = extent.createTest("Action latency", "Time taken by the wrapper actions");
+            latency.assignCategory("metrics");
+            latency.info(MarkupHelper.createTable(withHeader(actions), "table-sm"));
+            latency.info(MarkupHelper.createTable(withHeader(ActionMetrics.locatorRows(ConfigurationManager.configuration().metricsTopLocators())), "table-sm"));
+        }
+        ActionMetrics.writeCsv(Paths.get(folderName, ConfigurationManager.configuration().metricsFile()));
+    }
+
+    private static String[][] withHeader(List<String[]> rows) {
+        List<String[]> table = new ArrayList<String[]>();
+        table.add(ActionMetrics.HEADER);
+        table.addAll(rows);
+        return table.toArray(new String[0][]);
+    }
 
     public String getTestName() {
         return testName.get();
     }
 
     public Status getTestStatus() {
+        ReportWriter.drain();
         return parentTest.get().getModel().getStatus();
     }
 
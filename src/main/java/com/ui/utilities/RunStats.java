@@ -0,0 +1,55 @@
+package com.ui.utilities;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Run level counters (pool hits, time saved etc.) shared by all the worker threads.
+ * The values are published into the report at the end of the suite.
+ */
+public class RunStats {
+
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<String, LongAdder>();
+    private static final Map<String, AtomicLong> maxima = new ConcurrentHashMap<String, AtomicLong>();
+
+    private RunStats() {
+    }
+
+    public static void increment(String name) {
+        add(name, 1);
+    }
+
+    public static void add(String name, long delta) {
+        counters.computeIfAbsent(name, k -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * Use this method to keep the highest value seen (a peak, not a sum)
+     */
+    public static void max(String name, long value) {
+        maxima.computeIfAbsent(name, k -> new AtomicLong(Long.MIN_VALUE)).accumulateAndGet(value, Math::max);
+    }
+
+    public static long get(String name) {
+        AtomicLong peak = maxima.get(name);
+        if (peak != null) return peak.get();
+        LongAdder adder = counters.get(name);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Use this method to get a sorted copy of all the counters
+     *
+     * @return counter name and its current value
+     */
+    public static Map<String, Long> snapshot() {
+        Map<String, Long> values = new TreeMap<String, Long>();
+        counters.forEach((name, adder) -> values.put(name, adder.sum()));
+        maxima.forEach((name, peak) -> values.put(name, peak.get()));
+        return values;
+    }
+
+}
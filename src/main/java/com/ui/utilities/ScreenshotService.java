@@ -0,0 +1,153 @@
+package com.ui.utilities;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.config.ConfigurationManager;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.options.ScreenshotType;
+
+/**
+ * Takes the screenshots of the report as files in &lt;report folder&gt;/screenshots and returns their path
+ * relative to the report, so the report references them instead of embedding base64.
+ * A page is captured at most once per DOM state: as long as the document (URL and load time) and its
+ * mutation counter did not change, the previous screenshot of the thread is reused.
+ * The format is taken from screenshot.type (png or jpeg), screenshot.quality and screenshot.full.page.
+ */
+public class ScreenshotService {
+
+    public static final String TAKEN = "screenshot.taken";
+    public static final String DEDUPED = "screenshot.deduped";
+    public static final String BYTES = "screenshot.bytes";
+
+    private static final String FOLDER = "screenshots";
+
+    /**
+     * Counts the DOM mutations of the document (installed on the first call) and returns the count
+     */
+    private static final String DOM_STATE_SCRIPT = "() => {"
+            + " if (!window.__atsDomState) {"
+            + "   window.__atsDomState = { version: 0 };"
+            + "   new MutationObserver(() => window.__atsDomState.version++)"
+            + "     .observe(document, { subtree: true, childList: true, attributes: true, characterData: true });"
+            + " }"
+            + " return performance.timeOrigin + '#' + window.__atsDomState.version;"
+            + "}";
+
+    private static final AtomicLong sequence = new AtomicLong();
+    private static final ThreadLocal<String[]> lastCapture = new ThreadLocal<String[]>();
+
+    private ScreenshotService() {
+    }
+
+    /**
+     * Use this method to get a screenshot of the page for the report
+     *
+     * @param page         The page to capture
+     * @param reportFolder The folder of the report (Reporter.folderName)
+     * @return the path of the image relative to the report or null when the page could not be captured
+     */
+    public static String capture(Page page, String reportFolder) {
+        FlightEvents.Screenshot event = new FlightEvents.Screenshot();
+        event.begin();
+        String state = domState(page);
+        String[] last = lastCapture.get();
+        if (state != null && last != null && last[0].equals(state)) {
+            RunStats.increment(DEDUPED);
+            commit(event, "page", last[1], 0, true);
+            return last[1];
+        }
+
+        String relative = nextFile();
+        Path path = Paths.get(reportFolder, relative);
+        try {
+            Files.createDirectories(path.getParent());
+            Page.ScreenshotOptions options = new Page.ScreenshotOptions()
+                    .setPath(path)
+                    .setFullPage(ConfigurationManager.configuration().screenshotFullPage());
+            if (isJpeg()) {
+                options.setType(ScreenshotType.JPEG).setQuality(ConfigurationManager.configuration().screenshotQuality());
+            }
+            commit(event, "page", relative, record(page.screenshot(options)), false);
+        } catch (PlaywrightException | IOException e) {
+            TestLog.error("Unable to take the screenshot : {}", e.getMessage());
+            return null;
+        }
+        if (state != null) lastCapture.set(new String[] { state, relative });
+        return relative;
+    }
+
+    /**
+     * Use this method to capture a single element (clipped to its bounding box) for the report
+     *
+     * @param element      The element to capture
+     * @param reportFolder The folder of the report (Reporter.folderName)
+     * @return the path of the image relative to the report or null when the element could not be captured
+     */
+    public static String captureElement(Locator element, String reportFolder) {
+        FlightEvents.Screenshot event = new FlightEvents.Screenshot();
+        event.begin();
+        String relative = nextFile();
+        Path path = Paths.get(reportFolder, relative);
+        try {
+            Files.createDirectories(path.getParent());
+            Locator.ScreenshotOptions options = new Locator.ScreenshotOptions().setPath(path);
+            if (isJpeg()) {
+                options.setType(ScreenshotType.JPEG).setQuality(ConfigurationManager.configuration().screenshotQuality());
+            }
+            commit(event, "element", relative, record(element.screenshot(options)), false);
+        } catch (PlaywrightException | IOException e) {
+            TestLog.error("Unable to take the element screenshot : {}", e.getMessage());
+            return null;
+        }
+        return relative;
+    }
+
+    /**
+     * Use this method to forget the last screenshot of the thread (a new test class starts)
+     */
+    public static void reset() {
+        lastCapture.remove();
+    }
+
+    private static String domState(Page page) {
+        try {
+            return page.url() + "|" + page.evaluate(DOM_STATE_SCRIPT);
+        } catch (PlaywrightException e) {
+            // navigating or closed, capture without deduplication
+            return null;
+        }
+    }
+
+    private static boolean isJpeg() {
+        String type = ConfigurationManager.configuration().screenshotType();
+        return type != null && (type.equalsIgnoreCase("jpeg") || type.equalsIgnoreCase("jpg"));
+    }
+
+    private static String nextFile() {
+        return FOLDER + "/" + Thread.currentThread().getId() + "-" + sequence.incrementAndGet() + (isJpeg() ? ".jpg" : ".png");
+    }
+
+    private static long record(byte[] image) {
+        RunStats.increment(TAKEN);
+        RunStats.add(BYTES, image.length);
+        return image.length;
+    }
+
+    private static void commit(FlightEvents.Screenshot event, String kind, String path, long bytes, boolean reused) {
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.kind = kind;
+        event.path = path;
+        event.bytes = bytes;
+        event.reused = reused;
+        event.test = FlightEvents.currentTest();
+        event.commit();
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.ui.utilities;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.config.ConfigurationManager;
+import com.google.gson.JsonObject;
+
+/**
+ * Writes one JSON line (NDJSON) per wrapper action into &lt;report folder&gt;/step.events.file, next to the Extent HTML,
+ * so the step timings of many runs can be analysed without parsing the report.
+ * The lines are buffered in memory and only forced to disk at the end of every test class (see sync).
+ */
+public class StepEventLog {
+
+    public static final String EVENTS = "step.events";
+
+    private static BufferedWriter writer;
+    private static FileOutputStream stream;
+
+    private StepEventLog() {
+    }
+
+    /**
+     * Use this method to append the event of an action
+     *
+     * @param test       The name of the test (class) that ran the action
+     * @param action     The wrapper method (click, type, verifyExactText ...)
+     * @param locator    The locator, URL or table name the action worked on
+     * @param startedAt  The start of the action (epoch millis)
+     * @param durationMs The time taken by the action
+     * @param outcome    pass or fail (a fail step was reported or the action threw)
+     * @param retries    The fallbacks taken by the action (re-evaluation, sequential probe ...)
+     */
+    public static void append(String test, String action, String locator, long startedAt, long durationMs, String outcome, int retries) {
+        if (!ConfigurationManager.configuration().stepEvents()) return;
+        JsonObject event = new JsonObject();
+        event.addProperty("ts", startedAt);
+        event.addProperty("test", test);
+        event.addProperty("thread", Thread.currentThread().getName());
+        event.addProperty("action", action);
+        event.addProperty("locator", locator);
+        event.addProperty("durationMs", durationMs);
+        event.addProperty("outcome", outcome);
+        event.addProperty("retries", retries);
+        String line = event.toString();
+        synchronized (StepEventLog.class) {
+            try {
+                open().write(line);
+                writer.newLine();
+                RunStats.increment(EVENTS);
+            } catch (IOException e) {
+                TestLog.error("Unable to write the step event : {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Use this method at a test boundary to force the buffered events to disk
+     */
+    public static synchronized void sync() {
+        if (writer == null) return;
+        try {
+            writer.flush();
+            stream.getFD().sync();
+        } catch (IOException e) {
+            TestLog.error("Unable to sync the step events : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Use this method at the end of the suite, the next event opens the file again (append)
+     */
+    public static synchronized void close() {
+        if (writer == null) return;
+        sync();
+        try {
+            writer.close();
+        } catch (IOException e) {
+            TestLog.error("Unable to close the step events : {}", e.getMessage());
+        }
+        writer = null;
+        stream = null;
+    }
+
+    private static BufferedWriter open() throws IOException {
+        if (writer == null) {
+            Path path = Paths.get(Reporter.folderName, ConfigurationManager.configuration().stepEventsFile());
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            stream = new FileOutputStream(path.toFile(), true);
+            writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 64 * 1024);
+        }
+        return writer;
+    }
+
+}
@@ -0,0 +1,279 @@
+package com.ui.utilities;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import com.config.ConfigurationManager;
+
+/**
+ * Leveled logging of the wrapper actions. A message is a format with {} placeholders and its arguments,
+ * it is formatted only when it is written:
+ * <ul>
+ *     <li>at log.level and above it is printed right away, the errors on the standard error</li>
+ *     <li>at log.buffer.level and above it is kept (unformatted) in a ring buffer of the thread, the last
+ *     log.buffer.size messages of the running test, printed in one block when the test reports a fail step</li>
+ * </ul>
+ * Below both levels a call returns at once without allocating (up to four arguments, no varargs array).
+ * The arguments are referenced, not copied: they are formatted with their value at the time of the print.
+ */
+public class TestLog {
+
+    public enum Level {
+        TRACE, DEBUG, INFO, WARN, ERROR, OFF;
+
+        static Level from(String value) {
+            if (value == null || value.isBlank()) return OFF;
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return OFF;
+            }
+        }
+    }
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    /**
+     * The levels are read once, on the first log call
+     */
+    private static class Levels {
+        static final Level CONSOLE = Level.from(ConfigurationManager.configuration().logLevel());
+        static final int BUFFER_SIZE = Math.max(0, ConfigurationManager.configuration().logBufferSize());
+        static final Level BUFFER = BUFFER_SIZE == 0 ? Level.OFF : Level.from(ConfigurationManager.configuration().logBufferLevel());
+        static final int THRESHOLD = Math.min(CONSOLE.ordinal(), BUFFER.ordinal());
+    }
+
+    private static final ThreadLocal<Ring> rings = ThreadLocal.withInitial(() -> new Ring(Levels.BUFFER_SIZE));
+
+    private TestLog() {
+    }
+
+    /**
+     * A message as logged: the arguments are formatted when the message is printed
+     */
+    private static class Entry {
+        long time;
+        Level level;
+        String format;
+        int argc;
+        Object a0, a1, a2, a3;
+        Object[] more;
+
+        void set(long time, Level level, String format, int argc, Object a0, Object a1, Object a2, Object a3, Object[] more) {
+            this.time = time;
+            this.level = level;
+            this.format = format;
+            this.argc = argc;
+            this.a0 = a0;
+            this.a1 = a1;
+            this.a2 = a2;
+            this.a3 = a3;
+            this.more = more;
+        }
+
+        Object arg(int i) {
+            if (more != null) return i < more.length ? more[i] : null;
+            switch (i) {
+                case 0: return a0;
+                case 1: return a1;
+                case 2: return a2;
+                case 3: return a3;
+                default: return null;
+            }
+        }
+
+        int argCount() {
+            return more != null ? more.length : argc;
+        }
+    }
+
+    /**
+     * The last messages of the thread, the entries are allocated once and reused
+     */
+    private static class Ring {
+        private final Entry[] entries;
+        private int next;
+        private int count;
+
+        Ring(int size) {
+            entries = new Entry[size];
+            for (int i = 0; i < size; i++) entries[i] = new Entry();
+        }
+
+        void add(long time, Level level, String format, int argc, Object a0, Object a1, Object a2, Object a3, Object[] more) {
+            entries[next].set(time, level, format, argc, a0, a1, a2, a3, more);
+            next = (next + 1) % entries.length;
+            if (count < entries.length) count++;
+        }
+
+        void clear() {
+            for (Entry entry : entries) entry.set(0, null, null, 0, null, null, null, null, null);
+            next = 0;
+            count = 0;
+        }
+    }
+
+    public static boolean isEnabled(Level level) {
+        return level.ordinal() >= Levels.THRESHOLD && level != Level.OFF;
+    }
+
+    public static boolean isDebug() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    public static void debug(String format) {
+        log(Level.DEBUG, format, 0, null, null, null, null, null);
+    }
+
+    public static void debug(String format, Object a0) {
+        log(Level.DEBUG, format, 1, a0, null, null, null, null);
+    }
+
+    public static void debug(String format, Object a0, Object a1) {
+        log(Level.DEBUG, format, 2, a0, a1, null, null, null);
+    }
+
+    public static void debug(String format, Object a0, Object a1, Object a2) {
+        log(Level.DEBUG, format, 3, a0, a1, a2, null, null);
+    }
+
+    public static void debug(String format, Object a0, Object a1, Object a2, Object a3) {
+        log(Level.DEBUG, format, 4, a0, a1, a2, a3, null);
+    }
+
+    public static void debug(String format, Object... args) {
+        log(Level.DEBUG, format, args.length, null, null, null, null, args);
+    }
+
+    public static void info(String format) {
+        log(Level.INFO, format, 0, null, null, null, null, null);
+    }
+
+    public static void info(String format, Object a0) {
+        log(Level.INFO, format, 1, a0, null, null, null, null);
+    }
+
+    public static void info(String format, Object a0, Object a1) {
+        log(Level.INFO, format, 2, a0, a1, null, null, null);
+    }
+
+    public static void info(String format, Object a0, Object a1, Object a2) {
+        log(Level.INFO, format, 3, a0, a1, a2, null, null);
+    }
+
+    public static void info(String format, Object a0, Object a1, Object a2, Object a3) {
+        log(Level.INFO, format, 4, a0, a1, a2, a3, null);
+    }
+
+    public static void info(String format, Object... args) {
+        log(Level.INFO, format, args.length, null, null, null, null, args);
+    }
+
+    public static void warn(String format) {
+        log(Level.WARN, format, 0, null, null, null, null, null);
+    }
+
+    public static void warn(String format, Object a0) {
+        log(Level.WARN, format, 1, a0, null, null, null, null);
+    }
+
+    public static void warn(String format, Object a0, Object a1) {
+        log(Level.WARN, format, 2, a0, a1, null, null, null);
+    }
+
+    public static void warn(String format, Object a0, Object a1, Object a2) {
+        log(Level.WARN, format, 3, a0, a1, a2, null, null);
+    }
+
+    public static void warn(String format, Object a0, Object a1, Object a2, Object a3) {
+        log(Level.WARN, format, 4, a0, a1, a2, a3, null);
+    }
+
+    public static void warn(String format, Object... args) {
+        log(Level.WARN, format, args.length, null, null, null, null, args);
+    }
+
+    public static void error(String format) {
+        log(Level.ERROR, format, 0, null, null, null, null, null);
+    }
+
+    public static void error(String format, Object a0) {
+        log(Level.ERROR, format, 1, a0, null, null, null, null);
+    }
+
+    public static void error(String format, Object a0, Object a1) {
+        log(Level.ERROR, format, 2, a0, a1, null, null, null);
+    }
+
+    public static void error(String format, Object a0, Object a1, Object a2) {
+        log(Level.ERROR, format, 3, a0, a1, a2, null, null);
+    }
+
+    public static void error(String format, Object a0, Object a1, Object a2, Object a3) {
+        log(Level.ERROR, format, 4, a0, a1, a2, a3, null);
+    }
+
+    public static void error(String format, Object... args) {
+        log(Level.ERROR, format, args.length, null, null, null, null, args);
+    }
+
+    private static void log(Level level, String format, int argc, Object a0, Object a1, Object a2, Object a3, Object[] more) {
+        if (!isEnabled(level)) return;
+        long now = System.currentTimeMillis();
+        if (level.compareTo(Levels.CONSOLE) >= 0) {
+            Entry entry = new Entry();
+            entry.set(now, level, format, argc, a0, a1, a2, a3, more);
+            (level == Level.ERROR ? System.err : System.out).println(format(entry, new StringBuilder()));
+        }
+        if (level.compareTo(Levels.BUFFER) >= 0) {
+            rings.get().add(now, level, format, argc, a0, a1, a2, a3, more);
+        }
+    }
+
+    /**
+     * Prints the buffered messages of the thread that were not printed yet (below log.level), in one block,
+     * and empties the buffer
+     *
+     * @param reason Why the buffer is printed (the fail step)
+     */
+    public static void dump(String reason) {
+        if (Levels.BUFFER == Level.OFF) return;
+        Ring ring = rings.get();
+        if (ring.count == 0) return;
+        StringBuilder block = new StringBuilder();
+        block.append("---- log of ").append(Reporter.testName.get()).append(" [").append(Thread.currentThread().getName())
+                .append("] before: ").append(reason == null ? "" : reason.trim().split("\\R", 2)[0]).append(System.lineSeparator());
+        int first = (ring.next - ring.count + ring.entries.length) % ring.entries.length;
+        for (int i = 0; i < ring.count; i++) {
+            Entry entry = ring.entries[(first + i) % ring.entries.length];
+            if (entry.level.compareTo(Levels.CONSOLE) >= 0) continue; // already printed
+            format(entry, block).append(System.lineSeparator());
+        }
+        block.append("---- end of log");
+        System.out.println(block);
+        ring.clear();
+    }
+
+    /**
+     * Use this method at a test boundary, the buffer only holds the messages of the running test
+     */
+    public static void clear() {
+        if (Levels.BUFFER == Level.OFF) return;
+        rings.get().clear();
+    }
+
+    private static StringBuilder format(Entry entry, StringBuilder out) {
+        out.append(TIME.format(Instant.ofEpochMilli(entry.time))).append(' ').append(entry.level).append(' ');
+        String format = entry.format;
+        int argIndex = 0;
+        int from = 0;
+        int at;
+        while ((at = format.indexOf("{}", from)) >= 0 && argIndex < entry.argCount()) {
+            out.append(format, from, at).append(entry.arg(argIndex++));
+            from = at + 2;
+        }
+        return out.append(format, from, format.length());
+    }
+
+}
@@ -34,7 +34,7 @@ public class XMLReaderUtil {
             DocumentBuilder newDocumentBuilder = newInstance.newDocumentBuilder();
             Document doc = newDocumentBuilder.parse(new File(fileName));
             doc.getDocumentElement().normalize();
-            System.out.println("Root Element :" + doc.getDocumentElement().getNodeName());
+            TestLog.debug("Root Element :{}", doc.getDocumentElement().getNodeName());
             NodeList elementsByTagName = doc.getElementsByTagName(elementName);
             Node node = elementsByTagName.item(0);
             Element element = (Element) node;
@@ -60,9 +60,9 @@ public class XMLReaderUtil {
 			 int length = elementsByTagName.getLength();
 			 for(int i=0;i<length;i++) {
 				 Node node = elementsByTagName.item(i);
-				 System.out.println(node.getNodeName());
+				 TestLog.debug("{}", node.getNodeName());
 				 Element element = (Element) node;
-				 System.out.println(element.getAttribute("path"));
+				 TestLog.debug("{}", element.getAttribute("path"));
 				 listsOfElements.add(element.getAttribute("path"));
 			 }
             return listsOfElements;
@@ -1,14 +1,21 @@
 package com.page.base;
 
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.testng.annotations.*;
 
 import com.config.ConfigurationManager;
 import com.microsoft.playwright.Browser;
 import com.microsoft.playwright.Browser.NewContextOptions;
-import com.microsoft.playwright.Tracing;
+import com.ui.base.ContextPool;
+import com.ui.base.SessionCache;
+import com.ui.base.TraceChunks;
 import com.ui.base.ProjectHooks;
+import com.ui.base.VideoPolicy;
+import com.ui.utilities.RunStats;
 
 public class CognitestPageHook extends ProjectHooks {
 
@@ -31,99 +38,147 @@ public class CognitestPageHook extends ProjectHooks {
     public static final ThreadLocal<String> descriptionTwo = new ThreadLocal<>();
     public static final ThreadLocal<String> fileName = new ThreadLocal<>();
 
+    // UI login used to create and refresh the cached sessions
+    private static final SessionCache.LoginFlow LOGIN_FLOW = (page, user, pass) -> new MenuPage().signIn(page, user, pass);
+
 
     public static void setUserLevel() {
+        String[] credentials = credentialsFor(xmlUserLevel);
+        userLevel = credentials[0];
+        password = credentials[1];
+    }
 
-        switch (xmlUserLevel) {
+    /**
+     * @param tier The user tier from the suite groups (Tier1Admin ... Tier3EndUser)
+     * @return the user name and password of the tier (Tier1Admin for an unknown tier)
+     */
+    public static String[] credentialsFor(String tier) {
+        switch (tier) {
             case "Tier1Admin":
-                userLevel = ConfigurationManager.configuration().appUserNameTier1Admin();
-                password = ConfigurationManager.configuration().appPasswordTier1Admin();
-                break;
+                return new String[]{ConfigurationManager.configuration().appUserNameTier1Admin(), ConfigurationManager.configuration().appPasswordTier1Admin()};
 
             case "Tier1User":
-                userLevel = ConfigurationManager.configuration().appUserNameTier1User();
-                password = ConfigurationManager.configuration().appPasswordTier1User();
-                break;
+                return new String[]{ConfigurationManager.configuration().appUserNameTier1User(), ConfigurationManager.configuration().appPasswordTier1User()};
             case "Tier2Admin":
-                userLevel = ConfigurationManager.configuration().appUserNameTier2Admin();
-                password = ConfigurationManager.configuration().appPasswordTier2Admin();
-                break;
+                return new String[]{ConfigurationManager.configuration().appUserNameTier2Admin(), ConfigurationManager.configuration().appPasswordTier2Admin()};
             case "Tier2User":
-                userLevel = ConfigurationManager.configuration().appUserNameTier2User();
-                password = ConfigurationManager.configuration().appPasswordTier2User();
-                break;
+                return new String[]{ConfigurationManager.configuration().appUserNameTier2User(), ConfigurationManager.configuration().appPasswordTier2User()};
             case "Tier3EndUser":
-                userLevel = ConfigurationManager.configuration().appUserNameTier3EndUser();
-                password = ConfigurationManager.configuration().appPasswordTier3EndUser();
-                break;
+                return new String[]{ConfigurationManager.configuration().appUserNameTier3EndUser(), ConfigurationManager.configuration().appPasswordTier3EndUser()};
 
             default:
-                userLevel = ConfigurationManager.configuration().appUserNameTier1Admin();
-                password = ConfigurationManager.configuration().appPasswordTier1Admin();
-                break;
+                return new String[]{ConfigurationManager.configuration().appUserNameTier1Admin(), ConfigurationManager.configuration().appPasswordTier1Admin()};
+        }
+    }
+
+    /**
+     * Logs in the tiers of the suite files once, in parallel, and caches their sessions (if auto login is configured)
+     */
+    @Parameters("Browser")
+    @BeforeSuite(groups = {"Tier1Admin", "Tier1User", "Tier2Admin", "Tier2User", "Tier3EndUser"})
+    public void cacheLoginSessions(@Optional("chrome") String browser) {
+        if (!ConfigurationManager.configuration().autoLogin()) return;
+        Map<String, String[]> credentials = new LinkedHashMap<>();
+        for (String tier : groupNames) {
+            if (tier != null) credentials.put(tier, credentialsFor(tier));
         }
+        SessionCache.warmUp(credentials, LOGIN_FLOW, browser);
+    }
+
+    /**
+     * Creates the context options: video recording (other than cloud, see video.mode) and the login state (if configured)
+     */
+    private NewContextOptions newContextOptions() {
+        NewContextOptions newContext = new Browser.NewContextOptions()
+                .setIgnoreHTTPSErrors(true);
+        // Default Settings
+        if (recordsVideo()) {
+            newContext.setRecordVideoDir(Paths.get(folderName));
+        } else {
+            RunStats.increment(VIDEO_NOT_RECORDED);
+        }
+        // Auto Login if enabled, seeded with the cached session of the tier
+        if (ConfigurationManager.configuration().autoLogin()) {
+            Path session = SessionCache.storageStateFor(xmlUserLevel);
+            newContext.setStorageStatePath(session != null ? session : Paths.get("storage/login.json"));
+        }
+        return newContext;
+    }
+
+    /**
+     * Identifies the options of {@link #newContextOptions()}, only contexts with the same key are reused from the pool
+     */
+    private String contextKey() {
+        return ConfigurationManager.configuration().browser() + "|" + folderName + "|" + recordsVideo() + "|" + ConfigurationManager.configuration().autoLogin() + "|" + xmlUserLevel;
+    }
+
+    private static boolean recordsVideo() {
+        return !ConfigurationManager.configuration().browser().equalsIgnoreCase("cloud") && VideoPolicy.current().records();
     }
 
     /**
      * Will be invoked before once for every test case execution and
-     * a) will launch the browser based on config
-     * b) create reporting structure
-     * c) store login state (if configured)
-     * d) create context, page
-     * e) set default time out based on config
-     * f) maximize and load the given URL
+     * a) create reporting structure
+     * b) register the browser setup, which runs on the first use of the page (or right away when browser.lazy is off)
      *
      * @author Srikanth
      */
     @Parameters("Browser")
     @BeforeClass(groups = {"Tier1Admin", "Tier1User", "Tier2Admin", "Tier2User", "Tier3EndUser"})//beforemethod
     public void initBrowserAndDoLogin(@Optional("chrome") String browser) {
-        try {
-            setUserLevel();
-            startTestCase();
-            // Launch the browser (based on configuration) in head(less) mode (based on configuration)
-            setBrowser(browser, ConfigurationManager.configuration().headless());
-
-            // Set the extent report node for the test
-            setNode();
-            NewContextOptions newContext;
-            // Default Settings
-            if (!ConfigurationManager.configuration().browser().equalsIgnoreCase("cloud")) {
-                newContext = new Browser.NewContextOptions()
-                        .setIgnoreHTTPSErrors(true)
-                        .setRecordVideoDir(Paths.get(folderName));
-            } else {
-
-                newContext = new Browser.NewContextOptions()
-                        .setIgnoreHTTPSErrors(true);
-            }
-
-
-            // Auto Login if enabled
-            if (ConfigurationManager.configuration().autoLogin()) {
-                newContext.setStorageStatePath(Paths.get("storage/login.json"));
-            }
+        setUserLevel();
+        startTestCase();
 
-            // Store for Auto Login, Set the video recording ON using context
-            context.set(getBrowser().newContext(newContext));
+        // Set the extent report node for the test
+        setNode();
 
-            getContext().setDefaultNavigationTimeout(ConfigurationManager.configuration().timeout());
+        deferBrowserSetup(() -> openBrowser(browser));
+    }
 
-            // Create a new page and assign to the thread local
-            page.set(getContext().newPage());
+    /**
+     * Creates the browser for the test class
+     * a) will launch the browser based on config
+     * b) seed the cached login state of the tier (if configured)
+     * c) take a warmed context, page from the pool (or create them)
+     * d) set default time out based on config
+     * e) maximize and load the given URL (if not already loaded by the pool)
+     *
+     * @author Srikanth
+     */
+    private void openBrowser(String browser) {
+        try {
+            // Launch the browser (based on configuration) in head(less) mode (based on configuration)
+            setBrowser(browser, ConfigurationManager.configuration().headless());
 
-            // Set the timeout based on the configuration
-            getPage().setDefaultTimeout(ConfigurationManager.configuration().timeout());
+            // Take a warmed context (already on the URL) from the pool or create a new one
+            String url = ConfigurationManager.configuration().baseStagingUrl();
+            ContextPool.WarmContext warm = ContextPool.acquire(getBrowser(), contextKey(), this::newContextOptions, url);
+            context.set(warm.getContext());
+            page.set(warm.getPage());
 
-            // 	enable Tracing
-            if (ConfigurationManager.configuration().enableTracing())
-                getContext().tracing().start(new Tracing.StartOptions().setName(testcaseName).setSnapshots(true).setTitle(testcaseName));
+            // 	enable Tracing (one chunk per test method, see ProjectHooks.startTraceChunk)
+            TraceChunks.start(getContext(), testcaseName);
 
             // Get the screen size and maximize
             //maximize();
 
-            // Load the page with URL based on configuration
-            navigate(ConfigurationManager.configuration().baseStagingUrl());
+            // Load the page with URL based on configuration (unless the warmed page is already there)
+            if (warm.isPreloaded()) {
+                reportStep("The page with URL : " + url + " is loaded", "info");
+                reportPass("Launched the application successfully");
+            } else {
+                navigate(url);
+            }
+
+            // The cached session expired on the server side, log in again and refresh the cache
+            String checkUrl = ConfigurationManager.configuration().sessionCheckUrl();
+            if (ConfigurationManager.configuration().autoLogin() && checkUrl != null && !checkUrl.isBlank()) {
+                if (SessionCache.isExpired(getPage())) {
+                    SessionCache.refresh(getPage(), xmlUserLevel, userLevel, password, LOGIN_FLOW);
+                    reportStep("The login session of " + xmlUserLevel + " is refreshed", "info");
+                }
+                navigate(url); // back from the check URL
+            }
 //            new MenuPage().doLogin(userLevel, password);
 
         } catch (Exception e) {
@@ -1,7 +1,12 @@
 package com.page.base;
 
+import com.microsoft.playwright.Page;
+
 public class MenuPage extends CognitestPageHook {
 
+    // The fixed sleep every step used to take, the condition based waits report the time saved against it
+    private static final long STEP_SLEEP = 5000;
+
     // Locator for Email Field
     protected String emailField = "#email";
     // Locator for Password Field
@@ -31,142 +36,151 @@ public class MenuPage extends CognitestPageHook {
     // Locator for Borrower First Name Field
     protected String borrowerFirstNameField = "#borrower_first_name";
 
+    /**
+     * Logs in on the given page without reporting, used to cache the login session of a tier
+     */
+    public void signIn(Page page, String email, String password) {
+        page.locator(emailField).fill(email);
+        page.locator(passwordField).fill(password);
+        page.locator(loginButton).click();
+    }
+
     public MenuPage navigateToHomePage() throws InterruptedException {
-        Thread.sleep(5000);
+        waitForNetworkQuiet(STEP_SLEEP);
         navigate("http://3.82.99.137:3000/");
         return this;
     }
 
     public MenuPage verifyTickingMindsText() throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(tickingMindsText, STEP_SLEEP);
         verifyExactText(tickingMindsText, "TickingMinds_Test");
         return this;
     }
 
     public MenuPage fillEmail(String email) throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(emailField, STEP_SLEEP);
         type(emailField, email, "Email");
         return this;
     }
 
     public MenuPage verifyEmail(String email) throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(emailField, STEP_SLEEP);
         verifyExactText(emailField, email);
         return this;
     }
 
     public MenuPage fillPassword(String password) throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(passwordField, STEP_SLEEP);
         type(passwordField, password, "Password");
         return this;
     }
 
     public MenuPage verifyPassword(String password) throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(passwordField, STEP_SLEEP);
         verifyExactText(passwordField, password);
         return this;
     }
 
     public MenuPage clickLoginButton() throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(loginButton, STEP_SLEEP);
         click(loginButton, "Login Button");
         return this;
     }
 
     public MenuPage verifyInsuranceSearchText() throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(insuranceSearchText, STEP_SLEEP);
         verifyExactText(insuranceSearchText, "Insurance Search");
         return this;
     }
 
     public MenuPage fillTransactionId(String transactionId) throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(transactionIdField, STEP_SLEEP);
         type(transactionIdField, transactionId, "Transaction ID");
         return this;
     }
 
     public MenuPage verifyTransactionId(String transactionId) throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(transactionIdField, STEP_SLEEP);
         verifyExactText(transactionIdField, transactionId);
         return this;
     }
 
     public MenuPage clickSearchButton() throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(searchButton, STEP_SLEEP);
         click(searchButton, "Search Button");
         return this;
     }
 
     public MenuPage verifySearchResultsText() throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(searchResultsText, STEP_SLEEP);
         verifyExactText(searchResultsText, "Search Results");
         return this;
     }
 
     public MenuPage clickTransactionLink(String transactionId) throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible("a[href=\"/transaction-details/" + transactionId + "\"]", STEP_SLEEP);
         click("a[href=\"/transaction-details/" + transactionId + "\"]", "Transaction Link");
         return this;
     }
 
     public MenuPage verifyTransactionInformationText() throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(transactionInformationText, STEP_SLEEP);
         verifyExactText(transactionInformationText, "Transaction Information");
         return this;
     }
 
     // New method to fill Borrower First Name
     public MenuPage fillBorrowerFirstName(String borrowerFirstName) throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(borrowerFirstNameField, STEP_SLEEP);
         type(borrowerFirstNameField, borrowerFirstName, "Borrower First Name");
         return this;
     }
 
     // New method to verify Borrower First Name
     public MenuPage verifyBorrowerFirstName(String borrowerFirstName) throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(borrowerFirstNameField, STEP_SLEEP);
         verifyExactText(borrowerFirstNameField, borrowerFirstName);
         return this;
     }
 
     // New method to fill Loan Number
     public MenuPage fillLoanNumber(String loanNumber) throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(loanNumberField, STEP_SLEEP);
         type(loanNumberField, loanNumber, "Loan Number");
         return this;
     }
 
     // New method to verify Loan Number
     public MenuPage verifyLoanNumber(String loanNumber) throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(loanNumberField, STEP_SLEEP);
         verifyExactText(loanNumberField, loanNumber);
         return this;
     }
 
     // New method to fill Policy Number
     public MenuPage fillPolicyNumber(String policyNumber) throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(policyNumberField, STEP_SLEEP);
         type(policyNumberField, policyNumber, "Policy Number");
         return this;
     }
 
     // New method to verify Policy Number
     public MenuPage verifyPolicyNumber(String policyNumber) throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(policyNumberField, STEP_SLEEP);
         verifyExactText(policyNumberField, policyNumber);
         return this;
     }
 
     // New method to verify Loan Summary text
     public MenuPage verifyLoanSummaryText() throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(loanSummaryText, STEP_SLEEP);
         verifyExactText(loanSummaryText, "Loan Summary");
         return this;
     }
 
     // New method to verify Policy Information text
     public MenuPage verifyPolicyInformationText() throws InterruptedException {
-        Thread.sleep(5000);
+        waitForVisible(policyInformationText, STEP_SLEEP);
         verifyExactText(policyInformationText, "Policy Information");
         return this;
     }